@@ -1,13 +1,47 @@
 package com.automationexercise;
 
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.load.LoadGenerator;
+import com.automationexercise.api.load.LoadReport;
+import com.automationexercise.api.stub.StubServer;
+
 /**
- * Hello world!
+ * <h1>App</h1>
+ *
+ * <p>Command-line load driver: replays the request shapes of the functional tests (see
+ * {@link com.automationexercise.api.load.Scenario}) at a fixed arrival rate with the {@link LoadGenerator} and
+ * prints per-endpoint throughput and latency percentiles at the end.</p>
  *
+ * <p>With <code>-Dapi.target=stub</code> the run starts an in-process {@link StubServer} and targets it instead
+ * of {@link Config#BASE_URL}; <code>-Dapi.baseUrl</code> points it at any other deployment.</p>
+ *
+ * <pre>
+ * java -cp target/classes:&lt;dependencies&gt; \
+ *     -Dapi.target=stub -Dapi.load.rate=200 -Dapi.load.durationSeconds=60 -Dapi.load.concurrency=32 \
+ *     com.automationexercise.App
+ * </pre>
  */
-public class App 
-{
-    public static void main( String[] args )
-    {
-        System.out.println( "Hello World!" );
+public class App {
+
+    public static void main(String[] args) throws Exception {
+        // Let every worker hold its own connection; read by ApiClient when the first request is built
+        if (System.getProperty(Config.HTTP_MAX_PER_ROUTE_PROPERTY) == null) {
+            System.setProperty(Config.HTTP_MAX_PER_ROUTE_PROPERTY, String.valueOf(LoadGenerator.concurrency()));
+        }
+        StubServer stub = null;
+        if (Config.isStubTarget()) {
+            stub = StubServer.start(0);
+            System.setProperty(Config.BASE_URL_PROPERTY, stub.baseUrl());
+        }
+        try {
+            LoadGenerator generator = LoadGenerator.fromSystemProperties();
+            System.out.println("Target: " + Config.baseUrl());
+            LoadReport report = generator.run();
+            System.out.print(report);
+        } finally {
+            if (stub != null) {
+                stub.close();
+            }
+        }
     }
 }
@@ -0,0 +1,37 @@
+package com.automationexercise.api.client;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h1>AccountForm</h1>
+ *
+ * <p>Form fields sent to <code>/api/createAccount</code> and <code>/api/updateAccount</code>. The user CSV files
+ * (<code>create_user_data.csv</code>, <code>update_user_data.csv</code>, ...) list their columns in exactly this
+ * order, so a CSV row can be turned into request parameters without naming each of the 17 fields again.</p>
+ */
+public final class AccountForm {
+
+    public static final List<String> FIELDS = List.of(
+            "name", "email", "password", "title", "birth_date", "birth_month", "birth_year", "firstname",
+            "lastname", "company", "address1", "address2", "country", "zipcode", "state", "city", "mobile_number");
+
+    private AccountForm() {
+    }
+
+    /**
+     * Maps a user CSV row, in column order, to form parameters. Empty cells (<code>null</code> when read
+     * through <code>@CsvFileSource</code>) are sent as empty strings.
+     */
+    public static Map<String, String> fromRow(Object... row) {
+        if (row.length < FIELDS.size()) {
+            throw new IllegalArgumentException("Expected " + FIELDS.size() + " account columns but got " + row.length);
+        }
+        Map<String, String> form = new LinkedHashMap<>();
+        for (int i = 0; i < FIELDS.size(); i++) {
+            form.put(FIELDS.get(i), row[i] == null ? "" : row[i].toString().trim());
+        }
+        return form;
+    }
+}
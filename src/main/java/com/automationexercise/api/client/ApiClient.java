@@ -0,0 +1,135 @@
+package com.automationexercise.api.client;
+
+import com.automationexercise.api.config.Config;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h1>ApiClient</h1>
+ *
+ * <p>Single entry point for building requests against the AutomationExercise API. Every
+ * {@link RequestSpecification} returned by {@link #given()} is bound to {@link Config#baseUrl()} and shares one
+ * pooled, keep-alive Apache HttpClient, so TCP connections and TLS sessions are reused across the whole run
+ * instead of being set up again for every request.</p>
+ *
+ * <p>The pool is tuned through system properties (see the "HTTP Transport" section of {@link Config}):
+ * maximum connections per route and in total, how long an idle connection is kept alive, and how often
+ * expired or idle connections are evicted.</p>
+ *
+ * <p>{@link #stats()} reports how many connections were opened for how many requests, which shows how well
+ * handshakes are being amortized.</p>
+ */
+@SuppressWarnings("deprecation")
+public final class ApiClient {
+
+    private static final LongAdder CONNECTIONS_OPENED = new LongAdder();
+    private static final LongAdder REQUESTS_SENT = new LongAdder();
+
+    private static final PoolingClientConnectionManager CONNECTION_MANAGER = createConnectionManager();
+    private static final DefaultHttpClient HTTP_CLIENT = createHttpClient();
+    private static final RestAssuredConfig CONFIG = RestAssuredConfig.config().httpClient(
+            HttpClientConfig.httpClientConfig()
+                    .httpClientFactory(() -> HTTP_CLIENT)
+                    .reuseHttpClientInstance());
+
+    static {
+        startIdleEviction();
+    }
+
+    private ApiClient() {
+    }
+
+    /**
+     * Drop-in replacement for <code>RestAssured.given()</code>: request paths are resolved against
+     * {@link Config#baseUrl()}, e.g. <code>given().get(Config.BRANDS_ENDPOINT)</code>.
+     */
+    public static RequestSpecification given() {
+        return RestAssured.given().config(CONFIG).baseUri(Config.baseUrl());
+    }
+
+    public static TransportStats stats() {
+        return new TransportStats(CONNECTIONS_OPENED.sum(), REQUESTS_SENT.sum());
+    }
+
+    private static PoolingClientConnectionManager createConnectionManager() {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager(SchemeRegistryFactory.createDefault()) {
+            @Override
+            protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemes) {
+                return new CountingConnectionOperator(schemes);
+            }
+        };
+        manager.setDefaultMaxPerRoute(Integer.getInteger(Config.HTTP_MAX_PER_ROUTE_PROPERTY, Config.DEFAULT_HTTP_MAX_PER_ROUTE));
+        manager.setMaxTotal(Integer.getInteger(Config.HTTP_MAX_TOTAL_PROPERTY, Config.DEFAULT_HTTP_MAX_TOTAL));
+        return manager;
+    }
+
+    private static DefaultHttpClient createHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient(CONNECTION_MANAGER);
+        client.setKeepAliveStrategy(keepAliveStrategy(Long.getLong(Config.HTTP_KEEP_ALIVE_MS_PROPERTY, Config.DEFAULT_HTTP_KEEP_ALIVE_MS)));
+        client.addRequestInterceptor((request, context) -> REQUESTS_SENT.increment());
+        return client;
+    }
+
+    /**
+     * Honours a shorter <code>Keep-Alive: timeout</code> announced by the server, otherwise keeps the
+     * connection for the configured duration.
+     */
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(long keepAliveMs) {
+        ConnectionKeepAliveStrategy serverStrategy = DefaultConnectionKeepAliveStrategy.INSTANCE;
+        return (response, context) -> {
+            long announced = serverStrategy.getKeepAliveDuration(response, context);
+            return announced > 0 ? Math.min(announced, keepAliveMs) : keepAliveMs;
+        };
+    }
+
+    private static void startIdleEviction() {
+        long idleMs = Long.getLong(Config.HTTP_IDLE_EVICTION_MS_PROPERTY, Config.DEFAULT_HTTP_IDLE_EVICTION_MS);
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-idle-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            CONNECTION_MANAGER.closeExpiredConnections();
+            CONNECTION_MANAGER.closeIdleConnections(idleMs, TimeUnit.MILLISECONDS);
+        }, idleMs, Math.max(1, idleMs / 2), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Counts every new socket the pool opens; reused connections never reach this operator.
+     */
+    private static final class CountingConnectionOperator extends DefaultClientConnectionOperator {
+
+        CountingConnectionOperator(SchemeRegistry schemes) {
+            super(schemes);
+        }
+
+        @Override
+        public void openConnection(OperatedClientConnection connection, HttpHost target, InetAddress local,
+                                   HttpContext context, HttpParams params) throws IOException {
+            CONNECTIONS_OPENED.increment();
+            super.openConnection(connection, target, local, context, params);
+        }
+    }
+}
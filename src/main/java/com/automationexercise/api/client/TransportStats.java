@@ -0,0 +1,36 @@
+package com.automationexercise.api.client;
+
+/**
+ * Snapshot of the shared transport's counters: connections opened by the pool versus requests sent over them.
+ */
+public final class TransportStats {
+
+    private final long connectionsOpened;
+    private final long requestsSent;
+
+    TransportStats(long connectionsOpened, long requestsSent) {
+        this.connectionsOpened = connectionsOpened;
+        this.requestsSent = requestsSent;
+    }
+
+    public long connectionsOpened() {
+        return connectionsOpened;
+    }
+
+    public long requestsSent() {
+        return requestsSent;
+    }
+
+    /**
+     * Average number of requests served by each opened connection; 1.0 means no reuse at all.
+     */
+    public double requestsPerConnection() {
+        return connectionsOpened == 0 ? 0 : (double) requestsSent / connectionsOpened;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("HTTP transport: %d requests sent over %d connections opened (%.1f requests per connection)",
+                requestsSent, connectionsOpened, requestsPerConnection());
+    }
+}
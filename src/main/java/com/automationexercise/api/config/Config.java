@@ -1,5 +1,7 @@
 package com.automationexercise.api.config;
 
+import java.util.List;
+
 public class Config {
 
     // API Endpoints
@@ -14,6 +16,133 @@ public class Config {
     public static final String GET_USER_DETAILS_BY_EMAIL_ENDPOINT = "/api/getUserDetailByEmail";
     public static final String USERS_ENDPOINT = "/api/users";
 
+    // Target Selection
+    // Run with -Dapi.target=stub to send every request to the embedded StubServer instead of BASE_URL.
+    public static final String TARGET_PROPERTY = "api.target";
+    public static final String TARGET_STUB = "stub";
+    public static final String BASE_URL_PROPERTY = "api.baseUrl";
+    // Run with -Dapi.cassette=record to save every exchange to the cassette file, or -Dapi.cassette=replay to
+    // answer every request from it without any network access.
+    public static final String CASSETTE_MODE_PROPERTY = "api.cassette";
+    public static final String CASSETTE_RECORD = "record";
+    public static final String CASSETTE_REPLAY = "replay";
+    public static final String CASSETTE_FILE_PROPERTY = "api.cassette.file";
+    public static final String DEFAULT_CASSETTE_FILE = "src/test/resources/cassettes/suite.cassette";
+
+    // Parallel Execution
+    // Classes leasing the accounts of a user CSV hold its @ResourceLock: READ for read-only leases,
+    // READ_WRITE for exclusive ones.
+    public static final String CREATE_USER_ACCOUNTS_LOCK = "accounts:create_user_data.csv";
+    public static final String CREATE_UPDATE_USER_ACCOUNTS_LOCK = "accounts:create_update_user_data.csv";
+
+    // Test Sharding
+    // Per-class durations measured in previous runs. A run reads the input history
+    // file and writes what it learned to the output file, which becomes the input of the next run. With
+    // -Dapi.shard.count=K the classes are split into K shards of near-equal expected duration and
+    // -Dapi.shard.index (1 to K) selects the shard this node runs.
+    public static final String DURATIONS_FILE_PROPERTY = "api.durations.file";
+    public static final String DEFAULT_DURATIONS_FILE = "test-durations.properties";
+    public static final String DURATIONS_OUTPUT_PROPERTY = "api.durations.output";
+    public static final String DEFAULT_DURATIONS_OUTPUT = "target/test-durations.properties";
+    public static final String SHARD_INDEX_PROPERTY = "api.shard.index";
+    public static final String SHARD_COUNT_PROPERTY = "api.shard.count";
+
+    // Fixture Provisioning
+    public static final String FIXTURE_CONCURRENCY_PROPERTY = "api.fixtures.concurrency";
+    public static final int DEFAULT_FIXTURE_CONCURRENCY = 8;
+    // Fixture emails are rewritten to <local>+<namespace>@<domain> when the CSVs are loaded, so concurrent runs and
+    // surefire forks never touch each other's accounts. -Dapi.namespace sets the run id (e.g. the CI build number)
+    // and off keeps the CSV addresses; by default each JVM picks a random id, or a fixed one while a cassette is
+    // recorded or replayed. The fork number (-Dapi.fork, set by the surefire configuration) is appended.
+    public static final String NAMESPACE_PROPERTY = "api.namespace";
+    public static final String NAMESPACE_OFF = "off";
+    public static final String CASSETTE_NAMESPACE = "cassette";
+    public static final String FORK_PROPERTY = "api.fork";
+    public static final String EMAIL_COLUMN = "Email";
+
+    // CSV Datasets
+    // Files larger than this are streamed row by row to parameterized tests instead of being kept in memory.
+    public static final String DATASET_MAX_CACHED_BYTES_PROPERTY = "api.datasets.maxCachedBytes";
+    public static final long DEFAULT_DATASET_MAX_CACHED_BYTES = 8L * 1024 * 1024;
+
+    // Synthetic Data
+    // Rows generated per @SyntheticData source; the high-volume tests only run when the row count is set.
+    public static final String SYNTHETIC_ROWS_PROPERTY = "api.synthetic.rows";
+    public static final String SYNTHETIC_SEED_PROPERTY = "api.synthetic.seed";
+    public static final long DEFAULT_SYNTHETIC_SEED = 42L;
+    public static final String SYNTHETIC_EMAIL_DOMAIN = "example.com";
+
+    // JSON Path Queries
+    // Maximum number of compiled path expressions kept; the least recently used one is evicted beyond it.
+    public static final String PATH_CACHE_SIZE_PROPERTY = "api.paths.cacheSize";
+    public static final int DEFAULT_PATH_CACHE_SIZE = 256;
+
+    // Logging
+    // Level of the com.automationexercise loggers: info (default) logs no bodies, debug logs bodies truncated
+    // per endpoint, trace logs full requests and bodies.
+    public static final String LOG_LEVEL_PROPERTY = "api.log.level";
+    // Maximum characters of a logged body; -D<prefix><endpoint>=<chars> overrides it for one endpoint,
+    // e.g. -Dapi.log.bodyLimit./api/productsList=200.
+    public static final String LOG_BODY_LIMIT_PROPERTY_PREFIX = "api.log.bodyLimit.";
+    public static final String LOG_BODY_LIMIT_PROPERTY = "api.log.bodyLimit";
+    public static final int DEFAULT_LOG_BODY_LIMIT = 1024;
+    // Default for the product and brand list endpoints, whose bodies run to tens of kilobytes
+    public static final int DEFAULT_LIST_LOG_BODY_LIMIT = 256;
+
+    // Response Cache
+    // GETs of these read-only endpoints are shared by all test classes of a run: concurrent identical requests
+    // are sent once, and the response is kept for the TTL, then revalidated with If-None-Match/If-Modified-Since
+    // when the server sent an ETag/Last-Modified. -Dapi.cache=off sends every request.
+    public static final List<String> CACHEABLE_ENDPOINTS = List.of(PRODUCTS_ENDPOINT, BRANDS_ENDPOINT);
+    public static final String CACHE_MODE_PROPERTY = "api.cache";
+    public static final String CACHE_TTL_MS_PROPERTY = "api.cache.ttlMs";
+    public static final long DEFAULT_CACHE_TTL_MS = 60_000;
+    public static final String CACHE_MAX_ENTRIES_PROPERTY = "api.cache.maxEntries";
+    public static final int DEFAULT_CACHE_MAX_ENTRIES = 32;
+
+    // Exchange Capture
+    // Requests and responses kept per thread and logged when a test fails.
+    public static final String EXCHANGE_BUFFER_SIZE_PROPERTY = "api.exchanges.bufferSize";
+    public static final int DEFAULT_EXCHANGE_BUFFER_SIZE = 16;
+
+    // Latency Budgets
+    // Response time percentiles (or the slowest response, max) per endpoint, checked once the suite has finished,
+    // in milliseconds, e.g. -Dapi.latency.budget./api/productsList=p95:300,p99:800 for every method or
+    // -Dapi.latency.budget.GET./api/productsList=max:500 for one. Set -Dapi.latency.budgets=report to only log the
+    // breakdown, or off to skip it.
+    public static final String LATENCY_BUDGET_PROPERTY_PREFIX = "api.latency.budget.";
+    public static final String LATENCY_BUDGETS_MODE_PROPERTY = "api.latency.budgets";
+    // Default for GET of the product and brand lists, the largest responses of the API. The suite fetches each
+    // list once (the response cache shares it), too few requests for any percentile below the maximum.
+    public static final String DEFAULT_LIST_LATENCY_BUDGET = "max:1000";
+
+    // Metrics Export
+    // Per-endpoint request metrics written when the suite has finished, as Prometheus text format and CSV.
+    public static final String METRICS_DIRECTORY_PROPERTY = "api.metrics.dir";
+    public static final String DEFAULT_METRICS_DIRECTORY = "target";
+    public static final String METRICS_PROMETHEUS_FILE = "api-metrics.prom";
+    public static final String METRICS_CSV_FILE = "api-metrics.csv";
+
+    // HTTP Transport (override with -D<property>=<value>)
+    public static final String HTTP_MAX_PER_ROUTE_PROPERTY = "api.http.maxPerRoute";
+    public static final int DEFAULT_HTTP_MAX_PER_ROUTE = 16;
+    public static final String HTTP_MAX_TOTAL_PROPERTY = "api.http.maxTotal";
+    public static final int DEFAULT_HTTP_MAX_TOTAL = 64;
+    public static final String HTTP_KEEP_ALIVE_MS_PROPERTY = "api.http.keepAliveMs";
+    public static final long DEFAULT_HTTP_KEEP_ALIVE_MS = 30_000;
+    public static final String HTTP_IDLE_EVICTION_MS_PROPERTY = "api.http.idleEvictionMs";
+    public static final long DEFAULT_HTTP_IDLE_EVICTION_MS = 10_000;
+
+    // Load Generation (App.main)
+    // Target arrival rate in requests per second, run length, worker threads and the scenarios to mix.
+    public static final String LOAD_RATE_PROPERTY = "api.load.rate";
+    public static final double DEFAULT_LOAD_RATE = 20.0;
+    public static final String LOAD_DURATION_SECONDS_PROPERTY = "api.load.durationSeconds";
+    public static final long DEFAULT_LOAD_DURATION_SECONDS = 30;
+    public static final String LOAD_CONCURRENCY_PROPERTY = "api.load.concurrency";
+    public static final int DEFAULT_LOAD_CONCURRENCY = 16;
+    public static final String LOAD_SCENARIOS_PROPERTY = "api.load.scenarios";
+
     // Expected Values
     public static final int EXPECTED_STATUS_CODE = 200;
     public static final String EXPECTED_METHOD_NOT_SUPPORTED_MESSAGE = "This request method is not supported.";
@@ -51,4 +180,19 @@ public class Config {
 
     // Test Data
     public static final String INVALID_EMAIL = "thisEmailNotExists@gmail.uk";
+
+    /**
+     * Returns the base URL requests are sent to: the <code>api.baseUrl</code> system property when set
+     * (e.g. by the stub extension), otherwise {@link #BASE_URL}.
+     */
+    public static String baseUrl() {
+        return System.getProperty(BASE_URL_PROPERTY, BASE_URL);
+    }
+
+    /**
+     * Returns true when the run targets the embedded stub (<code>-Dapi.target=stub</code>).
+     */
+    public static boolean isStubTarget() {
+        return TARGET_STUB.equalsIgnoreCase(System.getProperty(TARGET_PROPERTY));
+    }
 }
@@ -0,0 +1,130 @@
+package com.automationexercise.api.load;
+
+import com.automationexercise.api.config.Config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h1>LoadGenerator</h1>
+ *
+ * <p>Open-model load driver: arrivals are scheduled at a fixed rate, independent of how fast the API answers,
+ * and handed to a pool of worker threads. Arrival <code>i</code> is due at <code>start + i / rate</code>; a
+ * single dispatcher thread releases it at that time and cycles through the configured {@link Scenario}s.</p>
+ *
+ * <p>When all workers are busy, arrivals queue instead of being delayed or dropped, and their response time
+ * is measured from when they were due (see {@link LoadReport}). A slow API therefore shows up as higher
+ * percentiles rather than as a silently lower request rate.</p>
+ *
+ * <p>Configured through system properties (see the "Load Generation" section of {@link Config}):</p>
+ * <ul>
+ *   <li><code>-Dapi.load.rate</code>: arrivals per second (default {@link Config#DEFAULT_LOAD_RATE})</li>
+ *   <li><code>-Dapi.load.durationSeconds</code>: how long arrivals are scheduled
+ *       (default {@link Config#DEFAULT_LOAD_DURATION_SECONDS})</li>
+ *   <li><code>-Dapi.load.concurrency</code>: worker threads (default {@link Config#DEFAULT_LOAD_CONCURRENCY})</li>
+ *   <li><code>-Dapi.load.scenarios</code>: comma-separated scenario names, e.g.
+ *       <code>products_list,search_product</code> (default: all)</li>
+ * </ul>
+ */
+public final class LoadGenerator {
+
+    // In-flight requests get this long to finish once the last arrival has been dispatched
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final double rate;
+    private final Duration duration;
+    private final int concurrency;
+    private final List<Scenario> scenarios;
+
+    public LoadGenerator(double rate, Duration duration, int concurrency, List<Scenario> scenarios) {
+        if (rate <= 0 || concurrency <= 0 || duration.isNegative() || scenarios.isEmpty()) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid load settings: rate=%s, duration=%s, concurrency=%d, scenarios=%s",
+                    rate, duration, concurrency, scenarios));
+        }
+        this.rate = rate;
+        this.duration = duration;
+        this.concurrency = concurrency;
+        this.scenarios = List.copyOf(scenarios);
+    }
+
+    public static LoadGenerator fromSystemProperties() {
+        String rate = System.getProperty(Config.LOAD_RATE_PROPERTY);
+        return new LoadGenerator(
+                rate == null ? Config.DEFAULT_LOAD_RATE : Double.parseDouble(rate),
+                Duration.ofSeconds(Long.getLong(Config.LOAD_DURATION_SECONDS_PROPERTY, Config.DEFAULT_LOAD_DURATION_SECONDS)),
+                concurrency(),
+                scenarios(System.getProperty(Config.LOAD_SCENARIOS_PROPERTY)));
+    }
+
+    /**
+     * Worker threads configured with <code>-Dapi.load.concurrency</code>.
+     */
+    public static int concurrency() {
+        return Integer.getInteger(Config.LOAD_CONCURRENCY_PROPERTY, Config.DEFAULT_LOAD_CONCURRENCY);
+    }
+
+    private static List<Scenario> scenarios(String names) {
+        if (names == null || names.isBlank()) {
+            return new ArrayList<>(EnumSet.allOf(Scenario.class));
+        }
+        List<Scenario> selected = new ArrayList<>();
+        for (String name : names.split(",")) {
+            selected.add(Scenario.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+        }
+        return selected;
+    }
+
+    /**
+     * Runs the load for the configured duration, waits for in-flight requests and returns the results.
+     * Every scenario is sent once beforehand, unrecorded, so class loading and connection setup do not end up
+     * in the percentiles.
+     */
+    public LoadReport run() throws InterruptedException {
+        for (Scenario scenario : scenarios) {
+            scenario.run(Long.MAX_VALUE, System.nanoTime(), new LoadReport());
+        }
+        LoadReport report = new LoadReport();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "load-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long maxLag = 0;
+        long arrivals = 0;
+        try {
+            while (true) {
+                long due = start + (long) (arrivals * intervalNanos);
+                if (due >= end) {
+                    break;
+                }
+                long now;
+                while ((now = System.nanoTime()) < due) {
+                    LockSupport.parkNanos(due - now);
+                }
+                maxLag = Math.max(maxLag, now - due);
+                Scenario scenario = scenarios.get((int) (arrivals % scenarios.size()));
+                long iteration = arrivals;
+                workers.execute(() -> scenario.run(iteration, due, report));
+                arrivals++;
+            }
+        } finally {
+            workers.shutdown();
+        }
+        if (!workers.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        report.finish(System.nanoTime() - start, arrivals, rate, concurrency, maxLag);
+        return report;
+    }
+}
@@ -0,0 +1,108 @@
+package com.automationexercise.api.load;
+
+import com.automationexercise.api.metrics.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h1>LoadReport</h1>
+ *
+ * <p>Per-endpoint results of a {@link LoadGenerator} run. Two latencies are kept for every request:</p>
+ * <ul>
+ *   <li><strong>Response time</strong>, measured from the moment the request was scheduled to start. When the
+ *       target or the workers fall behind, arrivals wait in the queue and that wait is counted, so the
+ *       percentiles are not flattered by coordinated omission.</li>
+ *   <li><strong>Service time</strong>, measured from the moment the request was actually sent.</li>
+ * </ul>
+ * <p>A large gap between the two means the load generator, not the API, was the bottleneck, or the API could
+ * not keep up with the arrival rate.</p>
+ */
+public final class LoadReport {
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile long elapsedNanos;
+    private volatile long scheduled;
+    private volatile double targetRate;
+    private volatile int concurrency;
+    private volatile long maxDispatchLagNanos;
+
+    void record(String endpoint, long responseNanos, long serviceNanos, boolean ok) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        stats.responseTime.recordNanos(responseNanos);
+        stats.serviceTime.recordNanos(serviceNanos);
+        if (!ok) {
+            stats.errors.increment();
+        }
+    }
+
+    void finish(long elapsedNanos, long scheduled, double targetRate, int concurrency, long maxDispatchLagNanos) {
+        this.elapsedNanos = elapsedNanos;
+        this.scheduled = scheduled;
+        this.targetRate = targetRate;
+        this.concurrency = concurrency;
+        this.maxDispatchLagNanos = maxDispatchLagNanos;
+    }
+
+    /**
+     * Results by <code>"METHOD /endpoint"</code>, sorted by name.
+     */
+    public Map<String, Endpoint> endpoints() {
+        return Collections.unmodifiableMap(new TreeMap<>(endpoints));
+    }
+
+    public double elapsedSeconds() {
+        return elapsedNanos / 1e9;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format(
+                "Load run: %d arrivals scheduled at %.1f/s over %.1f s with %d workers (max dispatch lag %.1f ms)%n",
+                scheduled, targetRate, elapsedSeconds(), concurrency, maxDispatchLagNanos / 1e6));
+        text.append(String.format("%-28s %8s %7s %8s %8s %8s %8s %8s %8s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+                "svc p99"));
+        for (Map.Entry<String, Endpoint> entry : endpoints().entrySet()) {
+            Endpoint stats = entry.getValue();
+            LatencyHistogram response = stats.responseTime;
+            text.append(String.format("%-28s %8d %7d %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %9.1f%n",
+                    entry.getKey(), response.count(), stats.errors(), response.count() / Math.max(elapsedSeconds(), 1e-9),
+                    millis(response.percentile(50)), millis(response.percentile(90)), millis(response.percentile(99)),
+                    millis(response.percentile(99.9)), millis(response.max()),
+                    millis(stats.serviceTime.percentile(99))));
+        }
+        return text.toString();
+    }
+
+    private static double millis(long micros) {
+        return micros / (double) TimeUnit.MILLISECONDS.toMicros(1);
+    }
+
+    /**
+     * Latencies and error count of one endpoint.
+     */
+    public static final class Endpoint {
+
+        private final LatencyHistogram responseTime = new LatencyHistogram();
+        private final LatencyHistogram serviceTime = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        public LatencyHistogram responseTime() {
+            return responseTime;
+        }
+
+        public LatencyHistogram serviceTime() {
+            return serviceTime;
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+    }
+}
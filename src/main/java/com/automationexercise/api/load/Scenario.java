@@ -0,0 +1,169 @@
+package com.automationexercise.api.load;
+
+import com.automationexercise.api.client.AccountForm;
+import com.automationexercise.api.config.Config;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.automationexercise.api.client.ApiClient.given;
+
+/**
+ * <h1>Scenario</h1>
+ *
+ * <p>The request shapes of the functional tests, replayed by the {@link LoadGenerator}. One arrival runs one
+ * scenario; every request it sends is recorded under its method and endpoint. A request counts as an error when
+ * it throws, when the HTTP status is not 200, or when the <code>responseCode</code> in the JSON body is not the
+ * one the functional tests expect.</p>
+ *
+ * <ul>
+ *   <li>{@link #PRODUCTS_LIST}, {@link #BRANDS_LIST}: GET the full lists.</li>
+ *   <li>{@link #SEARCH_PRODUCT}: POST a search term from {@link Config#SEARCH_PRODUCT_CSV_PATH}, read on first
+ *       use, so run the generator from the project directory.</li>
+ *   <li>{@link #VERIFY_LOGIN}: POST credentials that do not exist and expect 404, as
+ *       <code>InvalidLoginTest</code> does, so no account has to be prepared.</li>
+ *   <li>{@link #ACCOUNT_LIFECYCLE}: create, update and delete one account with a unique email. Only the first
+ *       request is measured from the scheduled arrival; the next ones start when the previous one ends.</li>
+ * </ul>
+ */
+public enum Scenario {
+
+    PRODUCTS_LIST {
+        @Override
+        void run(long iteration, long intendedNanos, LoadReport report) {
+            step(report, "GET", Config.PRODUCTS_ENDPOINT, intendedNanos, 200,
+                    () -> given().get(Config.PRODUCTS_ENDPOINT));
+        }
+    },
+    BRANDS_LIST {
+        @Override
+        void run(long iteration, long intendedNanos, LoadReport report) {
+            step(report, "GET", Config.BRANDS_ENDPOINT, intendedNanos, 200,
+                    () -> given().get(Config.BRANDS_ENDPOINT));
+        }
+    },
+    SEARCH_PRODUCT {
+        @Override
+        void run(long iteration, long intendedNanos, LoadReport report) {
+            List<String> terms = SearchTerms.TERMS;
+            String term = terms.get((int) Math.floorMod(iteration, terms.size()));
+            step(report, "POST", Config.SEARCH_PRODUCT_ENDPOINT, intendedNanos, 200,
+                    () -> given()
+                            .contentType("application/x-www-form-urlencoded")
+                            .formParam("search_product", term)
+                            .post(Config.SEARCH_PRODUCT_ENDPOINT));
+        }
+    },
+    VERIFY_LOGIN {
+        @Override
+        void run(long iteration, long intendedNanos, LoadReport report) {
+            step(report, "POST", Config.LOGIN_ENDPOINT, intendedNanos, 404,
+                    () -> given()
+                            .contentType("application/x-www-form-urlencoded")
+                            .formParams("email", "load." + iteration + "@" + Config.SYNTHETIC_EMAIL_DOMAIN,
+                                    "password", "invalidPassword")
+                            .post(Config.LOGIN_ENDPOINT));
+        }
+    },
+    ACCOUNT_LIFECYCLE {
+        @Override
+        void run(long iteration, long intendedNanos, LoadReport report) {
+            String email = "load." + RUN_ID + "." + iteration + "@" + Config.SYNTHETIC_EMAIL_DOMAIN;
+            Map<String, String> form = AccountForm.fromRow("loadTest", email, "123456789", "Mr", "1", "1", "2000",
+                    "Load", "Test", "", "1 Load Street", "", "India", "10001", "Maharashtra", "Mumbai", "9999999999");
+            boolean created = step(report, "POST", Config.CREATE_ACCOUNT_ENDPOINT, intendedNanos, 201,
+                    () -> given()
+                            .contentType("application/x-www-form-urlencoded")
+                            .formParams(form)
+                            .post(Config.CREATE_ACCOUNT_ENDPOINT));
+            if (!created) {
+                return;
+            }
+            form.put("city", "Pune");
+            step(report, "PUT", Config.UPDATE_ACCOUNT_ENDPOINT, System.nanoTime(), 200,
+                    () -> given()
+                            .contentType("application/x-www-form-urlencoded")
+                            .formParams(form)
+                            .put(Config.UPDATE_ACCOUNT_ENDPOINT));
+            step(report, "DELETE", Config.DELETE_ACCOUNT_ENDPOINT, System.nanoTime(), 200,
+                    () -> given()
+                            .contentType("application/x-www-form-urlencoded")
+                            .formParams("email", email, "password", "123456789")
+                            .delete(Config.DELETE_ACCOUNT_ENDPOINT));
+        }
+    };
+
+    private static final Pattern RESPONSE_CODE = Pattern.compile("\"responseCode\"\\s*:\\s*(\\d+)");
+    // Keeps the emails of separate runs apart on the live site
+    private static final long RUN_ID = System.currentTimeMillis();
+
+    /**
+     * Sends this scenario's requests for arrival number <code>iteration</code>, which was scheduled at
+     * <code>intendedNanos</code> (<code>System.nanoTime()</code>).
+     */
+    abstract void run(long iteration, long intendedNanos, LoadReport report);
+
+    private static boolean step(LoadReport report, String method, String endpoint, long intendedNanos,
+                                int expectedResponseCode, Supplier<Response> request) {
+        long started = System.nanoTime();
+        boolean ok;
+        try {
+            Response response = request.get();
+            ok = response.getStatusCode() == Config.EXPECTED_STATUS_CODE
+                    && responseCode(response.asString()) == expectedResponseCode;
+        } catch (RuntimeException e) {
+            ok = false;
+        }
+        long finished = System.nanoTime();
+        report.record(method + " " + endpoint, finished - intendedNanos, finished - started, ok);
+        return ok;
+    }
+
+    private static int responseCode(String body) {
+        Matcher matcher = RESPONSE_CODE.matcher(body);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /**
+     * The search terms of the functional tests, loaded when {@link #SEARCH_PRODUCT} first runs.
+     */
+    private static final class SearchTerms {
+
+        private static final List<String> TERMS = load(Paths.get(Config.SEARCH_PRODUCT_CSV_PATH));
+
+        /**
+         * The single column of the CSV below its header, unquoted, without blank lines.
+         */
+        private static List<String> load(Path file) {
+            List<String> lines;
+            try {
+                lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read search terms from " + file.toAbsolutePath(), e);
+            }
+            List<String> terms = lines.stream()
+                    .skip(1)
+                    .map(String::trim)
+                    .map(term -> term.length() > 1 && term.startsWith("\"") && term.endsWith("\"")
+                            ? term.substring(1, term.length() - 1).replace("\"\"", "\"")
+                            : term)
+                    .filter(term -> !term.isEmpty())
+                    .collect(Collectors.toUnmodifiableList());
+            if (terms.isEmpty()) {
+                throw new IllegalStateException("No search terms in " + file.toAbsolutePath());
+            }
+            return terms;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.automationexercise.api.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h1>LatencyHistogram</h1>
+ *
+ * <p>A fixed-size, lock-free histogram of durations in microseconds, precise to about 3% at any magnitude.
+ * Values below 64 µs get one bucket each; above that, every power of two is split into 32 linear sub-buckets,
+ * which covers everything from 1 µs to days in under 2,000 buckets.</p>
+ *
+ * <p>{@link #record(long)} is one array increment plus two adders and is safe to call from any number of
+ * threads. Histograms with the same layout can be added together with {@link #add(LatencyHistogram)}, so
+ * per-thread or per-run histograms can be merged into one report. Percentiles are reported as the upper edge
+ * of the bucket they fall into, so they never understate a latency.</p>
+ */
+public final class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 64;
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Magnitudes 6 (64 µs) to 62, 32 sub-buckets each
+    private static final int BUCKETS = LINEAR_BUCKETS + (63 - 6) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one duration given in nanoseconds.
+     */
+    public void recordNanos(long nanos) {
+        record(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Records one duration given in microseconds; negative values are recorded as 0.
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Adds every value recorded in <code>other</code> to this histogram.
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucket = other.counts.get(i);
+            if (bucket != 0) {
+                counts.addAndGet(i, bucket);
+            }
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Largest recorded value in microseconds, exact.
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Sum of all recorded values in microseconds.
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * Number of recorded values at or below <code>micros</code>. Values in the bucket that contains
+     * <code>micros</code> are all counted, so the result may include values up to 3% above it.
+     */
+    public long countAtOrBelow(long micros) {
+        if (micros < 0) {
+            return 0;
+        }
+        int last = indexOf(micros);
+        long seen = 0;
+        for (int i = 0; i <= last; i++) {
+            seen += counts.get(i);
+        }
+        return seen;
+    }
+
+    public double mean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * The value in microseconds at or below which <code>percentile</code> (0-100) percent of the recorded values
+     * fall; 0 when nothing was recorded.
+     */
+    public long percentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperEdge(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR_BUCKETS + (magnitude - 6) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperEdge(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int magnitude = 6 + (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+        long subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (magnitude - SUB_BUCKET_BITS);
+        return (1L << magnitude) + subBucket * width + width - 1;
+    }
+}
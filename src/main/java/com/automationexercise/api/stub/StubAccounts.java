@@ -0,0 +1,69 @@
+package com.automationexercise.api.stub;
+
+import com.automationexercise.api.client.AccountForm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <h1>StubAccounts</h1>
+ *
+ * <p>In-memory user store behind the account endpoints of the {@link StubServer}. Accounts are keyed by the
+ * exact email they were registered with, matching the live site, which accepts <code>katie@gmail.com</code>
+ * and <code>KATIE@GMAIL.COM</code> as two separate accounts.</p>
+ *
+ * <p>The store is safe for concurrent use so the suite can run in parallel against a single stub.</p>
+ */
+final class StubAccounts {
+
+    private final ConcurrentMap<String, Map<String, String>> accounts = new ConcurrentHashMap<>();
+    private final AtomicInteger ids = new AtomicInteger();
+
+    /**
+     * Registers a new account. Returns <code>false</code> when the email is already taken.
+     */
+    boolean create(Map<String, String> params) {
+        Map<String, String> account = new LinkedHashMap<>();
+        account.put("id", String.valueOf(ids.incrementAndGet()));
+        for (String field : AccountForm.FIELDS) {
+            account.put(field, params.getOrDefault(field, ""));
+        }
+        return accounts.putIfAbsent(params.get("email"), account) == null;
+    }
+
+    /**
+     * Overwrites the supplied fields of an existing account. Returns <code>false</code> when no account is
+     * registered under the email.
+     */
+    boolean update(Map<String, String> params) {
+        return accounts.computeIfPresent(params.get("email"), (email, existing) -> {
+            Map<String, String> updated = new LinkedHashMap<>(existing);
+            for (String field : AccountForm.FIELDS) {
+                if (params.containsKey(field)) {
+                    updated.put(field, params.get(field));
+                }
+            }
+            return updated;
+        }) != null;
+    }
+
+    /**
+     * Removes the account when both email and password match. Returns <code>false</code> otherwise.
+     */
+    boolean delete(String email, String password) {
+        Map<String, String> account = accounts.get(email);
+        return account != null && account.get("password").equals(password) && accounts.remove(email, account);
+    }
+
+    boolean verify(String email, String password) {
+        Map<String, String> account = accounts.get(email);
+        return account != null && account.get("password").equals(password);
+    }
+
+    Map<String, String> find(String email) {
+        return accounts.get(email);
+    }
+}
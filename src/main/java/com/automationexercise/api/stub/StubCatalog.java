@@ -0,0 +1,120 @@
+package com.automationexercise.api.stub;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * <h1>StubCatalog</h1>
+ *
+ * <p>Fixed product catalogue served by the {@link StubServer}. It mirrors the 34 products published by
+ * AutomationExercise, so the brand ids in <code>brands_data.csv</code> and the rows of
+ * <code>expected_products_details.csv</code> resolve exactly as they do against the live site.</p>
+ */
+public final class StubCatalog {
+
+    /**
+     * A single catalogue entry, rendered by the stub as one element of the <code>products</code> array.
+     */
+    public static final class Product {
+        private final int id;
+        private final String name;
+        private final String price;
+        private final String brand;
+        private final String usertype;
+        private final String category;
+
+        Product(int id, String name, String price, String brand, String usertype, String category) {
+            this.id = id;
+            this.name = name;
+            this.price = price;
+            this.brand = brand;
+            this.usertype = usertype;
+            this.category = category;
+        }
+
+        public int id() {
+            return id;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public String price() {
+            return price;
+        }
+
+        public String brand() {
+            return brand;
+        }
+
+        public String usertype() {
+            return usertype;
+        }
+
+        public String category() {
+            return category;
+        }
+
+        /**
+         * Case-insensitive match used by <code>/api/searchProduct</code>: a product is returned when the term
+         * occurs in its name, category, user type or brand.
+         */
+        boolean matches(String term) {
+            String needle = term.toLowerCase(Locale.ROOT);
+            return name.toLowerCase(Locale.ROOT).contains(needle)
+                    || category.toLowerCase(Locale.ROOT).contains(needle)
+                    || usertype.toLowerCase(Locale.ROOT).contains(needle)
+                    || brand.toLowerCase(Locale.ROOT).contains(needle);
+        }
+    }
+
+    private static final List<Product> PRODUCTS = List.of(
+            new Product(1, "Blue Top", "Rs. 500", "Polo", "Women", "Tops"),
+            new Product(2, "Men Tshirt", "Rs. 400", "H&M", "Men", "Tshirts"),
+            new Product(3, "Sleeveless Dress", "Rs. 1000", "Madame", "Women", "Dress"),
+            new Product(4, "Stylish Dress", "Rs. 1500", "Madame", "Women", "Dress"),
+            new Product(5, "Winter Top", "Rs. 600", "Mast & Harbour", "Women", "Tops"),
+            new Product(6, "Summer White Top", "Rs. 400", "H&M", "Women", "Tops"),
+            new Product(7, "Madame Top For Women", "Rs. 1000", "Madame", "Women", "Tops"),
+            new Product(8, "Fancy Green Top", "Rs. 700", "Polo", "Women", "Tops"),
+            new Product(11, "Sleeves Printed Top - White", "Rs. 499", "Babyhug", "Kids", "Tops & Shirts"),
+            new Product(12, "Half Sleeves Top Schiffli Detailing - Pink", "Rs. 359", "Babyhug", "Kids", "Tops & Shirts"),
+            new Product(13, "Frozen Tops For Kids", "Rs. 278", "Allen Solly Junior", "Kids", "Tops & Shirts"),
+            new Product(14, "Full Sleeves Top Cherry - Pink", "Rs. 679", "Kookie Kids", "Kids", "Tops & Shirts"),
+            new Product(15, "Printed Off Shoulder Top - White", "Rs. 315", "Babyhug", "Women", "Tops"),
+            new Product(16, "Sleeves Top and Short - Blue & Pink", "Rs. 478", "Babyhug", "Women", "Dress"),
+            new Product(18, "Little Girls Mr. Panda Shirt", "Rs. 543", "Kookie Kids", "Kids", "Tops & Shirts"),
+            new Product(19, "Sleeveless Unicorn Patch Gown - Pink", "Rs. 1050", "Allen Solly Junior", "Kids", "Dress"),
+            new Product(20, "Cotton Mull Embroidered Dress", "Rs. 1500", "Kookie Kids", "Kids", "Dress"),
+            new Product(21, "Blue Cotton Indie Mickey Dress", "Rs. 1530", "Biba", "Women", "Dress"),
+            new Product(22, "Long Maxi Tulle Fancy Dress Up Outfits -Pink", "Rs. 1440", "Biba", "Women", "Dress"),
+            new Product(23, "Sleeveless Unicorn Print Fit & Flare Net Dress - Multi", "Rs. 1100", "Biba", "Kids", "Dress"),
+            new Product(24, "Colour Blocked Shirt – Sky Blue", "Rs. 1299", "Allen Solly Junior", "Kids", "Tops & Shirts"),
+            new Product(28, "Pure Cotton V-Neck T-Shirt", "Rs. 1299", "H&M", "Men", "Tshirts"),
+            new Product(29, "Green Side Placket Detail T-Shirt", "Rs. 1000", "Polo", "Men", "Tshirts"),
+            new Product(30, "Premium Polo T-Shirts", "Rs. 1500", "Polo", "Men", "Tshirts"),
+            new Product(31, "Pure Cotton Neon Green Tshirt", "Rs. 850", "H&M", "Men", "Tshirts"),
+            new Product(33, "Soft Stretch Jeans", "Rs. 799", "Polo", "Men", "Jeans"),
+            new Product(35, "Regular Fit Straight Jeans", "Rs. 1200", "H&M", "Men", "Jeans"),
+            new Product(37, "Grunt Blue Slim Fit Jeans", "Rs. 1400", "Polo", "Men", "Jeans"),
+            new Product(38, "Rose Pink Embroidered Maxi Dress", "Rs. 5000", "Madame", "Women", "Dress"),
+            new Product(39, "Cotton Silk Hand Block Print Saree", "Rs. 3000", "Biba", "Women", "Saree"),
+            new Product(40, "Rust Red Linen Saree", "Rs. 3500", "Biba", "Women", "Saree"),
+            new Product(41, "Beautiful Peacock Blue Cotton Linen Saree", "Rs. 5000", "Madame", "Women", "Saree"),
+            new Product(42, "Lace Top For Women", "Rs. 1400", "Mast & Harbour", "Women", "Tops"),
+            new Product(43, "GRAPHIC DESIGN MEN T SHIRT - BLUE", "Rs. 1389", "Mast & Harbour", "Men", "Tshirts")
+    );
+
+    private StubCatalog() {
+    }
+
+    public static List<Product> products() {
+        return PRODUCTS;
+    }
+
+    public static List<Product> search(String term) {
+        return PRODUCTS.stream().filter(product -> product.matches(term)).collect(Collectors.toList());
+    }
+}
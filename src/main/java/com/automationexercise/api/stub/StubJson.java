@@ -0,0 +1,104 @@
+package com.automationexercise.api.stub;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON rendering for the stub responses. Only the shapes the AutomationExercise API returns are
+ * supported: objects with string, integer, nested object and array values.
+ */
+final class StubJson {
+
+    private StubJson() {
+    }
+
+    static String message(int responseCode, String message) {
+        return "{\"responseCode\": " + responseCode + ", \"message\": " + quote(message) + "}";
+    }
+
+    static String products(List<StubCatalog.Product> products) {
+        StringBuilder json = new StringBuilder("{\"responseCode\": 200, \"products\": [");
+        for (int i = 0; i < products.size(); i++) {
+            StubCatalog.Product product = products.get(i);
+            if (i > 0) {
+                json.append(", ");
+            }
+            json.append("{\"id\": ").append(product.id())
+                    .append(", \"name\": ").append(quote(product.name()))
+                    .append(", \"price\": ").append(quote(product.price()))
+                    .append(", \"brand\": ").append(quote(product.brand()))
+                    .append(", \"category\": {\"usertype\": {\"usertype\": ").append(quote(product.usertype()))
+                    .append("}, \"category\": ").append(quote(product.category())).append("}}");
+        }
+        return json.append("]}").toString();
+    }
+
+    static String brands(List<StubCatalog.Product> products) {
+        StringBuilder json = new StringBuilder("{\"responseCode\": 200, \"brands\": [");
+        for (int i = 0; i < products.size(); i++) {
+            StubCatalog.Product product = products.get(i);
+            if (i > 0) {
+                json.append(", ");
+            }
+            json.append("{\"id\": ").append(product.id())
+                    .append(", \"brand\": ").append(quote(product.brand())).append("}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Renders an account the way <code>/api/getUserDetailByEmail</code> does. The live API does not return
+     * <code>mobile_number</code> (see the README's known bugs), so neither does the stub.
+     */
+    static String user(Map<String, String> account) {
+        return "{\"responseCode\": 200, \"user\": {"
+                + "\"id\": " + account.get("id")
+                + ", \"name\": " + quote(account.get("name"))
+                + ", \"email\": " + quote(account.get("email"))
+                + ", \"title\": " + quote(account.get("title"))
+                + ", \"birth_day\": " + quote(account.get("birth_date"))
+                + ", \"birth_month\": " + quote(account.get("birth_month"))
+                + ", \"birth_year\": " + quote(account.get("birth_year"))
+                + ", \"first_name\": " + quote(account.get("firstname"))
+                + ", \"last_name\": " + quote(account.get("lastname"))
+                + ", \"company\": " + quote(account.get("company"))
+                + ", \"address1\": " + quote(account.get("address1"))
+                + ", \"address2\": " + quote(account.get("address2"))
+                + ", \"country\": " + quote(account.get("country"))
+                + ", \"state\": " + quote(account.get("state"))
+                + ", \"city\": " + quote(account.get("city"))
+                + ", \"zipcode\": " + quote(account.get("zipcode"))
+                + "}}";
+    }
+
+    static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
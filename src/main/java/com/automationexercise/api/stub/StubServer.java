@@ -0,0 +1,241 @@
+package com.automationexercise.api.stub;
+
+import com.automationexercise.api.config.Config;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * <h1>StubServer</h1>
+ *
+ * <p>In-process stand-in for the AutomationExercise API, built on the JDK's <code>HttpServer</code>. It
+ * implements every endpoint the tests call, including the "This request method is not supported." answer
+ * for unsupported methods, so the suite can run offline against a deterministic target.
+ * {@link Config#USERS_ENDPOINT} (<code>/api/users</code>), which no test uses, is not served.</p>
+ *
+ * <p>Like the live site, every answer is sent with HTTP status 200, a <code>server: cloudflare</code> header
+ * and a <code>text/html; charset=utf-8</code> content type; the outcome is reported through the
+ * <code>responseCode</code> and <code>message</code> fields of the JSON body. GET answers also carry an
+ * <code>ETag</code>, and a request whose <code>If-None-Match</code> matches it gets an empty 304, so conditional
+ * revalidation can be exercised offline.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * try (StubServer stub = StubServer.start(0)) {
+ *     given().get(stub.baseUrl() + Config.PRODUCTS_ENDPOINT);
+ * }
+ * </pre>
+ */
+public final class StubServer implements AutoCloseable {
+
+    private static final String CONTENT_TYPE = "text/html; charset=utf-8";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final StubAccounts accounts = new StubAccounts();
+    private final Map<String, Map<String, Function<Map<String, String>, String>>> routes = new HashMap<>();
+
+    private StubServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+        registerRoutes();
+        for (String path : routes.keySet()) {
+            server.createContext(path, this::handle);
+        }
+    }
+
+    /**
+     * Starts a stub on the loopback interface. Pass <code>0</code> to bind an ephemeral port.
+     */
+    public static StubServer start(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        StubServer stub = new StubServer(server, executor);
+        server.start();
+        return stub;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Base URL to use in place of {@link Config#BASE_URL}, e.g. <code>http://127.0.0.1:54321</code>.
+     */
+    public String baseUrl() {
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + port();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void registerRoutes() {
+        route(Config.PRODUCTS_ENDPOINT, "GET", params -> StubJson.products(StubCatalog.products()));
+        route(Config.BRANDS_ENDPOINT, "GET", params -> StubJson.brands(StubCatalog.products()));
+        route(Config.SEARCH_PRODUCT_ENDPOINT, "POST", this::searchProduct);
+        route(Config.LOGIN_ENDPOINT, "POST", this::verifyLogin);
+        route(Config.CREATE_ACCOUNT_ENDPOINT, "POST", this::createAccount);
+        route(Config.DELETE_ACCOUNT_ENDPOINT, "DELETE", this::deleteAccount);
+        route(Config.UPDATE_ACCOUNT_ENDPOINT, "PUT", this::updateAccount);
+        route(Config.GET_USER_DETAILS_BY_EMAIL_ENDPOINT, "GET", this::getUserDetailByEmail);
+    }
+
+    private void route(String path, String method, Function<Map<String, String>, String> handler) {
+        routes.computeIfAbsent(path, key -> new HashMap<>()).put(method, handler);
+    }
+
+    private String searchProduct(Map<String, String> params) {
+        String term = params.get("search_product");
+        if (term == null) {
+            return missingParameter("search_product", "POST");
+        }
+        return StubJson.products(StubCatalog.search(term));
+    }
+
+    private String verifyLogin(Map<String, String> params) {
+        if (!params.containsKey("email") || !params.containsKey("password")) {
+            return StubJson.message(400, Config.MISSING_EMAIL_OR_PASSWORD_MESSAGE);
+        }
+        if (accounts.verify(params.get("email"), params.get("password"))) {
+            return StubJson.message(200, Config.USER_EXISTS_MESSAGE);
+        }
+        return StubJson.message(404, Config.USER_NOT_FOUND_MESSAGE);
+    }
+
+    private String createAccount(Map<String, String> params) {
+        for (String required : new String[]{"name", "email", "password"}) {
+            if (!params.containsKey(required)) {
+                return missingParameter(required, "POST");
+            }
+        }
+        if (!accounts.create(params)) {
+            return StubJson.message(400, "Email already exists!");
+        }
+        return StubJson.message(201, "User created!");
+    }
+
+    private String deleteAccount(Map<String, String> params) {
+        for (String required : new String[]{"email", "password"}) {
+            if (!params.containsKey(required)) {
+                return missingParameter(required, "DELETE");
+            }
+        }
+        if (!accounts.delete(params.get("email"), params.get("password"))) {
+            return StubJson.message(404, "Account not found!");
+        }
+        return StubJson.message(200, Config.EXPECTED_ACCOUNT_DELETED_MESSAGE);
+    }
+
+    private String updateAccount(Map<String, String> params) {
+        for (String required : new String[]{"email", "password"}) {
+            if (!params.containsKey(required)) {
+                return missingParameter(required, "PUT");
+            }
+        }
+        if (!accounts.verify(params.get("email"), params.get("password")) || !accounts.update(params)) {
+            return StubJson.message(404, "Account not found!");
+        }
+        return StubJson.message(200, Config.EXPECTED_USER_UPDATED_MESSAGE);
+    }
+
+    private String getUserDetailByEmail(Map<String, String> params) {
+        String email = params.get("email");
+        if (email == null) {
+            return missingParameter("email", "GET");
+        }
+        Map<String, String> account = accounts.find(email);
+        if (account == null) {
+            return StubJson.message(404, Config.ACCOUNT_NOT_FOUND_MESSAGE);
+        }
+        return StubJson.user(account);
+    }
+
+    private static String missingParameter(String parameter, String method) {
+        return StubJson.message(400,
+                String.format("Bad request, %s parameter is missing in %s request.", parameter, method));
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Map<String, Function<Map<String, String>, String>> methods = routes.get(exchange.getHttpContext().getPath());
+            String body;
+            int status = 200;
+            if (methods == null || !exchange.getHttpContext().getPath().equals(exchange.getRequestURI().getPath())) {
+                status = 404;
+                body = "<h1>Not Found</h1>";
+            } else {
+                Function<Map<String, String>, String> handler = methods.get(exchange.getRequestMethod());
+                body = handler == null
+                        ? StubJson.message(405, Config.EXPECTED_METHOD_NOT_SUPPORTED_MESSAGE)
+                        : handler.apply(readParameters(exchange));
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.getResponseHeaders().set("Server", Config.EXPECTED_SERVER_NAME);
+            if (status == 200 && "GET".equals(exchange.getRequestMethod())) {
+                // Lets clients revalidate a cached GET with If-None-Match
+                String etag = "\"" + Integer.toHexString(Arrays.hashCode(bytes)) + "\"";
+                exchange.getResponseHeaders().set("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+            }
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Merges query string and url-encoded form parameters into one map, the way the live PHP backend does.
+     * A parameter sent without a value (e.g. an empty CSV cell) is kept with an empty string.
+     */
+    private static Map<String, String> readParameters(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseInto(params, exchange.getRequestURI().getRawQuery());
+        try (InputStream in = exchange.getRequestBody()) {
+            parseInto(params, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static void parseInto(Map<String, String> params, String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+        for (String pair : encoded.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            params.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+}
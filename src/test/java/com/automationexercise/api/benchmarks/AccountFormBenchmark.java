@@ -0,0 +1,92 @@
+package com.automationexercise.api.benchmarks;
+
+import com.automationexercise.api.client.AccountForm;
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.Datasets;
+import com.automationexercise.api.support.UserRecord;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.automationexercise.api.client.ApiClient.given;
+
+/**
+ * <h1>AccountFormBenchmark</h1>
+ *
+ * <p>Building the request specification for the 17-field account form of <code>createAccount</code> and
+ * <code>updateAccount</code>, without sending it:</p>
+ * <ul>
+ *   <li><code>formParamsVarargs</code>: <code>formParams("name", name, "email", email, ...)</code> with all 34
+ *       arguments spelled out, as <code>CreateUserAccountTest</code> originally did;</li>
+ *   <li><code>formParamsFromRow</code>: {@link AccountForm#fromRow(Object...)} on the CSV record, then
+ *       <code>formParams(map)</code>;</li>
+ *   <li><code>formParamsCachedForm</code>: <code>formParams(user.toForm())</code> with the form a
+ *       {@link UserRecord} built once when the dataset was loaded, as the user tests do now.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountFormBenchmark {
+
+    private String[] row;
+    private UserRecord user;
+
+    @Setup
+    public void load() {
+        row = Datasets.table(Config.CREATE_USER_CSV_PATH).record(0);
+        user = Datasets.users(Config.CREATE_USER_CSV_PATH).get(0);
+    }
+
+    @Benchmark
+    public RequestSpecification formParamsVarargs() {
+        String[] v = row;
+        return given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams(
+                        "name", v[0],
+                        "email", v[1],
+                        "password", v[2],
+                        "title", v[3],
+                        "birth_date", v[4],
+                        "birth_month", v[5],
+                        "birth_year", v[6],
+                        "firstname", v[7],
+                        "lastname", v[8],
+                        "company", v[9],
+                        "address1", v[10],
+                        "address2", v[11],
+                        "country", v[12],
+                        "zipcode", v[13],
+                        "state", v[14],
+                        "city", v[15],
+                        "mobile_number", v[16]);
+    }
+
+    @Benchmark
+    public RequestSpecification formParamsFromRow() {
+        return given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams(AccountForm.fromRow((Object[]) row));
+    }
+
+    @Benchmark
+    public RequestSpecification formParamsCachedForm() {
+        return given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams(user.toForm());
+    }
+}
@@ -0,0 +1,73 @@
+package com.automationexercise.api.benchmarks;
+
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.JsonTree;
+import io.restassured.path.json.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>BrandIdsBenchmark</h1>
+ *
+ * <p>The duplicate check of <code>GetBrandsListTest.testUniqueBrandIds</code>: read every brand id of the
+ * <code>/api/brandsList</code> body and count the distinct ones with a <code>HashSet</code>.</p>
+ * <ul>
+ *   <li><code>jsonPathGetList</code>: <code>response.jsonPath().getList("brands.id", Integer.class)</code>, body
+ *       parse and GPath compilation included, as the test originally did;</li>
+ *   <li><code>pointerList</code>: the body parsed by {@link JsonTree} and read with the
+ *       <code>/brands/*&#47;id</code> pointer, also parse included;</li>
+ *   <li><code>pointerListParsedOnce</code>: the pointer read alone, which is what each test pays now that
+ *       <code>JsonBody</code> parses a response once for the whole class.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BrandIdsBenchmark {
+
+    private String body;
+    private Object tree;
+
+    @Setup
+    public void capture() {
+        body = CapturedBodies.get(Config.BRANDS_ENDPOINT);
+        tree = JsonTree.parse(body);
+    }
+
+    @Benchmark
+    public boolean jsonPathGetList() {
+        List<Integer> ids = new JsonPath(body).getList("brands.id", Integer.class);
+        Set<Integer> unique = new HashSet<>(ids);
+        return unique.size() == ids.size();
+    }
+
+    @Benchmark
+    public boolean pointerList() {
+        List<?> ids = (List<?>) JsonTree.select(JsonTree.parse(body), "/brands/*/id");
+        Set<Object> unique = new HashSet<>(ids);
+        return unique.size() == ids.size();
+    }
+
+    @Benchmark
+    public boolean pointerListParsedOnce() {
+        List<?> ids = (List<?>) JsonTree.select(tree, "/brands/*/id");
+        Set<Object> unique = new HashSet<>(ids);
+        return unique.size() == ids.size();
+    }
+}
@@ -0,0 +1,42 @@
+package com.automationexercise.api.benchmarks;
+
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.stub.StubServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.automationexercise.api.client.ApiClient.given;
+
+/**
+ * <h1>CapturedBodies</h1>
+ *
+ * <p>Response bodies the benchmarks run against, captured once per benchmark JVM with a real GET. With
+ * <code>-Dapi.target=stub</code> (the default of the <code>benchmarks</code> profile) they come from a
+ * {@link StubServer} started for the capture, which serves the same catalogue and shape as the live site;
+ * otherwise from {@link Config#baseUrl()}.</p>
+ */
+final class CapturedBodies {
+
+    private static final Map<String, String> BODIES = new ConcurrentHashMap<>();
+
+    private CapturedBodies() {
+    }
+
+    static String get(String endpoint) {
+        return BODIES.computeIfAbsent(endpoint, CapturedBodies::capture);
+    }
+
+    private static String capture(String endpoint) {
+        if (!Config.isStubTarget()) {
+            return given().get(endpoint).asString();
+        }
+        try (StubServer stub = StubServer.start(0)) {
+            return given().baseUri(stub.baseUrl()).get(endpoint).asString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start the stub to capture " + endpoint, e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.automationexercise.api.benchmarks;
+
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.CsvTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>CsvParsingBenchmark</h1>
+ *
+ * <p>Parsing <code>create_user_data.csv</code> (17 columns), with its data rows repeated up to
+ * <code>rows</code>:</p>
+ * <ul>
+ *   <li><code>splitLines</code>: read line by line and <code>line.split(",")</code> with each field trimmed, as
+ *       the user tests did before {@link CsvTable}. It is the cheap baseline, but it breaks on quoted commas and
+ *       drops trailing empty columns;</li>
+ *   <li><code>csvTable</code>: {@link CsvTable#parse(BufferedReader)}, the RFC 4180 parser the suite uses now,
+ *       including cell interning.</li>
+ * </ul>
+ * <p>Both read from memory, so only parsing is measured, not I/O.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvParsingBenchmark {
+
+    @Param({"3", "1000"})
+    int rows;
+
+    private String text;
+
+    @Setup
+    public void load() throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(Config.CREATE_USER_CSV_PATH), StandardCharsets.UTF_8);
+        StringBuilder csv = new StringBuilder(lines.get(0)).append('\n');
+        for (int i = 0; i < rows; i++) {
+            csv.append(lines.get(1 + i % (lines.size() - 1))).append('\n');
+        }
+        text = csv.toString();
+    }
+
+    @Benchmark
+    public void splitLines(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(text))) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i] = fields[i].trim();
+                }
+                blackhole.consume(fields);
+            }
+        }
+    }
+
+    @Benchmark
+    public CsvTable csvTable() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(text))) {
+            return CsvTable.parse(reader);
+        }
+    }
+}
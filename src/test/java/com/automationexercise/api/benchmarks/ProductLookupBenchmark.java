@@ -0,0 +1,74 @@
+package com.automationexercise.api.benchmarks;
+
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.CompiledPaths;
+import com.automationexercise.api.support.JsonTree;
+import io.restassured.path.json.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>ProductLookupBenchmark</h1>
+ *
+ * <p>Reading one field of one product from the <code>/api/productsList</code> body with
+ * <code>products.find { it.id == N }.name</code>, the lookup <code>GetProductsListTest</code> used to run six
+ * times per CSV row:</p>
+ * <ul>
+ *   <li><code>jsonPathPerLookup</code>: <code>response.jsonPath().getString(...)</code> with the id concatenated
+ *       into the expression, which parses the body and compiles a new Groovy script on every call;</li>
+ *   <li><code>jsonPathParsedOnce</code>: the same expression on a <code>JsonPath</code> built once, so only the
+ *       compilation is paid per call;</li>
+ *   <li><code>compiledPathParsedOnce</code>: the body parsed once by {@link JsonTree} and the expression, with the
+ *       id bound as a parameter, evaluated by {@link CompiledPaths}, as <code>JsonBody</code> does now.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductLookupBenchmark {
+
+    // First and last product of the list, so both ends of the linear find are measured
+    @Param({"1", "43"})
+    int id;
+
+    private String body;
+    private JsonPath parsed;
+    private Object tree;
+
+    @Setup
+    public void capture() {
+        body = CapturedBodies.get(Config.PRODUCTS_ENDPOINT);
+        parsed = new JsonPath(body);
+        tree = JsonTree.parse(body);
+    }
+
+    @Benchmark
+    public String jsonPathPerLookup() {
+        return new JsonPath(body).getString("products.find { it.id == " + id + "}.name");
+    }
+
+    @Benchmark
+    public String jsonPathParsedOnce() {
+        return parsed.getString("products.find { it.id == " + id + "}.name");
+    }
+
+    @Benchmark
+    public Object compiledPathParsedOnce() {
+        return CompiledPaths.evaluate("products.find { it.id == id }.name", tree, Map.of("id", id));
+    }
+}
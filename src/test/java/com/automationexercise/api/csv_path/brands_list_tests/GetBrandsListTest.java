@@ -1,17 +1,24 @@
 package com.automationexercise.api.csv_path.brands_list_tests;
 
 import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.ApiLog;
+import com.automationexercise.api.support.CsvDataset;
+import com.automationexercise.api.support.Datasets;
+import com.automationexercise.api.support.Reconciler;
 import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvFileSource;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import static io.restassured.RestAssured.given;
+import static com.automationexercise.api.client.ApiClient.given;
+import static com.automationexercise.api.support.JsonBody.json;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -46,11 +53,19 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
  *
  * <p>This comprehensive test suite ensures that the brands list is returned correctly and
  * that its data integrity is maintained.</p>
+ *
+ * <p>Fields are read with JSON pointers (<code>/brands/*&#47;id</code>), so the class runs without loading the
+ * Groovy-based JsonPath machinery.</p>
  */
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class GetBrandsListTest {
+    private static final Logger LOG = LogManager.getLogger(GetBrandsListTest.class);
+
+    private static final Reconciler BRANDS = Reconciler.keyedBy("Brand ID", "id")
+            .field("Name", "brand");
 
     private Response response;
+    private Reconciler.Result brands;
 
     /**
      * Setup: Perform a GET request to the /brandsList endpoint once before all tests.
@@ -60,32 +75,29 @@ public class GetBrandsListTest {
     void setup() {
         response = given()
                 .when()
-                .get(Config.BASE_URL + Config.BRANDS_ENDPOINT)
+                .get(Config.BRANDS_ENDPOINT)
                 .then()
                 .extract().response();
 
-        System.out.println("BrandsList Response Body:\n" + response.getBody().asString());
+        ApiLog.body(LOG, Config.BRANDS_ENDPOINT, "BrandsList response", response);
+
+        brands = BRANDS.reconcile(Datasets.rows(Config.BRANDS_CSV_PATH), json(response).list("/brands"));
+        LOG.debug("Brands {}", brands);
     }
 
     /**
      * 1. Parameterized test that validates each brand ID and brand name from the CSV file.
-     * This ensures the JSON response matches the expected data row by row.
+     * This ensures the JSON response matches the expected data row by row; the rows are reconciled with the
+     * response in one pass during setup, so each row only reads its own differences.
      */
     @Order(1)
     @TestTemplate
     @DisplayName("Verify each brand in the CSV matches the JSON response")
     @ParameterizedTest(name = "{index} - Brand ID: {0}, Brand Name: {1}")
-    @CsvFileSource(files = Config.BRANDS_CSV_PATH, numLinesToSkip = 1)
+    @CsvDataset(Config.BRANDS_CSV_PATH)
     void testBrandsList(String brandId, String expectedName) {
-        // Check the brand ID
-        String actualId = response.jsonPath()
-                .getString("brands.find { it.id == " + brandId + "}.id");
-        assertThat("Brand ID mismatch!", actualId, equalTo(brandId));
-
-        // Check the brand name
-        String actualName = response.jsonPath()
-                .getString("brands.find { it.id == " + brandId + "}.brand");
-        assertThat("Brand name mismatch for ID " + brandId, actualName, equalTo(expectedName));
+        // Check the brand ID and name
+        assertThat(brands.describe(brandId), brands.differences(brandId), empty());
     }
 
     /**
@@ -107,7 +119,7 @@ public class GetBrandsListTest {
     @Test
     @DisplayName("Validate list size of the brands")
     void testListSize() {
-        List<String> brandIds = response.jsonPath().getList("brands.id");
+        List<String> brandIds = json(response).list("/brands/*/id");
         assertThat("List size mismatch!",
                 brandIds.size(), equalTo(Config.EXPECTED_LIST_SIZE));
     }
@@ -144,7 +156,7 @@ public class GetBrandsListTest {
     @Test
     @DisplayName("Validate that all brand names are not empty")
     void testBrandNamesNotEmpty() {
-        List<String> allBrandNames = response.jsonPath().getList("brands.brand");
+        List<String> allBrandNames = json(response).list("/brands/*/brand");
         for (String brandName : allBrandNames) {
             assertFalse(brandName == null || brandName.trim().isEmpty(),
                     "Found an empty brand name in the response!");
@@ -159,7 +171,7 @@ public class GetBrandsListTest {
     @Test
     @DisplayName("Validate that all brand IDs are unique")
     void testUniqueBrandIds() {
-        List<Integer> brandIds = response.jsonPath().getList("brands.id", Integer.class);
+        List<Integer> brandIds = json(response).list("/brands/*/id", Integer.class);
         Set<Integer> uniqueIds = new HashSet<>(brandIds);
 
         assertThat("Duplicate brand IDs found!",
@@ -1,14 +1,18 @@
 package com.automationexercise.api.csv_path.brands_list_tests;
 
 import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.ApiLog;
 import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
 
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-import static io.restassured.RestAssured.given;
+import static com.automationexercise.api.client.ApiClient.given;
+import static com.automationexercise.api.support.JsonBody.json;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 
@@ -42,6 +46,7 @@ import static org.hamcrest.Matchers.equalTo;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class PutBrandsListTest {
+    private static final Logger LOG = LogManager.getLogger(PutBrandsListTest.class);
 
     public Response response;
 
@@ -55,10 +60,10 @@ public class PutBrandsListTest {
         response = given()
                 .contentType("application/x-www-form-urlencoded")
                 .when()
-                .put(Config.BASE_URL + Config.BRANDS_ENDPOINT)
+                .put(Config.BRANDS_ENDPOINT)
                 .then()
                 .extract().response();
-        System.out.println("PUT Response:\n" + response.getBody().asString());
+        ApiLog.body(LOG, Config.BRANDS_ENDPOINT, "PUT response", response);
     }
 
     /**
@@ -68,7 +73,7 @@ public class PutBrandsListTest {
     @Order(1)
     @DisplayName("Validate response message: 'This request method is not supported.'")
     void validateResponseMessage() {
-        String actualMessage = response.jsonPath().getString("message");
+        String actualMessage = json(response).getString("message");
         assertThat("Expected response message 'This request method is not supported.'",
                 actualMessage, equalTo(Config.EXPECTED_METHOD_NOT_SUPPORTED_MESSAGE));
     }
@@ -80,7 +85,7 @@ public class PutBrandsListTest {
     @Order(2)
     @DisplayName("Validate JSON response code is '405'")
     void validateResponseCode() {
-        String actualResponseCode = response.jsonPath().getString("responseCode");
+        String actualResponseCode = json(response).getString("responseCode");
         assertThat("Expected JSON response code '405'!",
                 actualResponseCode, equalTo(Config.EXPECTED_RESPONSE_CODE_405));
     }
@@ -115,7 +120,7 @@ public class PutBrandsListTest {
     @Order(5)
     @DisplayName("Validate JSON response structure")
     void validateResponseJsonStructure() {
-        Map<String, Object> responseMap = response.jsonPath().getMap("");
+        Map<String, Object> responseMap = json(response).getMap("");
         Set<String> expectedKeys = new HashSet<>();
         expectedKeys.add("responseCode");
         expectedKeys.add("message");
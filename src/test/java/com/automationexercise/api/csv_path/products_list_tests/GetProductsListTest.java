@@ -1,17 +1,24 @@
 package com.automationexercise.api.csv_path.products_list_tests;
 
 import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.ApiLog;
+import com.automationexercise.api.support.CsvDataset;
+import com.automationexercise.api.support.Datasets;
+import com.automationexercise.api.support.Reconciler;
 import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvFileSource;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import static io.restassured.RestAssured.given;
+import static com.automationexercise.api.client.ApiClient.given;
+import static com.automationexercise.api.support.JsonBody.json;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -51,20 +58,35 @@ import static org.junit.jupiter.api.Assertions.fail;
  */
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class GetProductsListTest {
+    private static final Logger LOG = LogManager.getLogger(GetProductsListTest.class);
+
+    private static final Reconciler PRODUCTS = Reconciler.keyedBy("Product ID", "id")
+            .field("Name", "name")
+            .field("Price", "price")
+            .field("Brand", "brand")
+            .field("Usertype", "category.usertype.usertype")
+            .field("Category", "category.category");
+
     private Response response;
+    private Reconciler.Result products;
     /**
      * Setup: Execute a GET request to the /productsList endpoint before all tests.
-     * The response is stored for reuse in subsequent tests.
+     * The response is stored for reuse in subsequent tests, and its products are reconciled with the expected
+     * CSV (<code>Config.EXPECTED_PRODUCTS_DETAILS_CSV_PATH</code>) in one pass, so each row only reads its own
+     * differences.
      */
     @BeforeAll
     void setup() {
         response = given()
                 .when()
-                .get(Config.BASE_URL + Config.PRODUCTS_ENDPOINT)
+                .get(Config.PRODUCTS_ENDPOINT)
                 .then()
                 .extract().response();
 
-        System.out.println("ProductsList Response Body:\n" + response.getBody().asString());
+        ApiLog.body(LOG, Config.PRODUCTS_ENDPOINT, "ProductsList response", response);
+        products = PRODUCTS.reconcile(Datasets.rows(Config.EXPECTED_PRODUCTS_DETAILS_CSV_PATH),
+                json(response).getList("products"));
+        LOG.debug("Products {}", products);
     }
 
     /**
@@ -76,32 +98,11 @@ public class GetProductsListTest {
      */
     @Order(1)
     @ParameterizedTest(name = "{index} - Product id: {0}, Product name: {1}")
-    @CsvFileSource(files = Config.EXPECTED_PRODUCTS_DETAILS_CSV_PATH, numLinesToSkip = 1)
+    @CsvDataset(Config.EXPECTED_PRODUCTS_DETAILS_CSV_PATH)
     @DisplayName("Validate product details against CSV data")
     void testProductsDetails(String id, String name, String price, String brand, String usertype, String category) {
-        // Validate product ID
-        String actualId = response.jsonPath().getString("products.find { it.id == " + id + "}.id");
-        assertThat("Brand ID mismatch!", actualId, equalTo(id));
-
-        // Validate product name
-        String actualName = response.jsonPath().getString("products.find { it.id == " + id + "}.name");
-        assertThat("Product name mismatch for ID " + id, actualName, equalTo(name));
-
-        // Validate product price
-        String actualPrice = response.jsonPath().getString("products.find { it.id == " + id + "}.price");
-        assertThat("Product price mismatch for ID " + id, actualPrice, equalTo(price));
-
-        // Validate brand
-        String actualBrand = response.jsonPath().getString("products.find { it.id == " + id + "}.brand");
-        assertThat("Product brand mismatch for ID " + id, actualBrand, equalTo(brand));
-
-        // Validate usertype (nested JSON)
-        String actualUsertype = response.jsonPath().getString("products.find { it.id == " + id + "}.category.usertype.usertype");
-        assertThat("Product usertype mismatch for ID " + id, actualUsertype, equalTo(usertype));
-
-        // Validate category
-        String actualCategory = response.jsonPath().getString("products.find { it.id == " + id + "}.category.category");
-        assertThat("Product category mismatch for ID " + id, actualCategory, equalTo(category));
+        // Validate product ID, name, price, brand, usertype (nested JSON) and category
+        assertThat(products.describe(id), products.differences(id), empty());
     }
 
     /**
@@ -121,7 +122,7 @@ public class GetProductsListTest {
     @Test
     @DisplayName("Validate products list size")
     void validateListSize() {
-        List<String> productNames = response.jsonPath().getList("products.name");
+        List<String> productNames = json(response).getList("products.name");
         assertThat("Expected list size of " + Config.EXPECTED_LIST_SIZE, productNames.size(), equalTo(Config.EXPECTED_LIST_SIZE));
     }
 
@@ -156,7 +157,7 @@ public class GetProductsListTest {
     @Test
     @DisplayName("Validate that all product names are non-empty")
     void validateNonEmptyProductNames() {
-        List<String> allProductNames = response.jsonPath().getList("products.name");
+        List<String> allProductNames = json(response).getList("products.name");
         for (String productName : allProductNames) {
             assertFalse(productName == null || productName.trim().isEmpty(),
                     "Found an empty product name in the response!");
@@ -170,7 +171,7 @@ public class GetProductsListTest {
     @Test
     @DisplayName("Validate uniqueness of product IDs")
     void validateUniqueProductIds() {
-        List<Integer> productIds = response.jsonPath().getList("products.id", Integer.class);
+        List<Integer> productIds = json(response).getList("products.id", Integer.class);
         Set<Integer> uniqueIds = new HashSet<>(productIds);
         assertThat("Duplicate product IDs found!", uniqueIds.size(), is(productIds.size()));
     }
@@ -183,7 +184,7 @@ public class GetProductsListTest {
     @Test
     @DisplayName("Validate that product prices are valid numbers and non-empty")
     void validateProductPrices() {
-        List<String> prices = response.jsonPath().getList("products.price");
+        List<String> prices = json(response).getList("products.price");
         for (String price : prices) {
             assertFalse(price == null || price.trim().isEmpty(), "Found an empty price for a product!");
 
@@ -1,14 +1,19 @@
 package com.automationexercise.api.csv_path.products_list_tests;
 
 import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.ApiLog;
+import com.automationexercise.api.support.CsvDataset;
+import com.automationexercise.api.support.Exchanges;
 import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvFileSource;
 
 import java.util.List;
 
-import static io.restassured.RestAssured.given;
+import static com.automationexercise.api.client.ApiClient.given;
+import static com.automationexercise.api.support.JsonBody.json;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -47,13 +52,17 @@ import static org.junit.jupiter.api.Assertions.*;
  * </pre>
  *
  * <p>This allows testing various search scenarios by simply adding or modifying CSV rows.</p>
+ *
+ * <p>Every validation is parameterized over the same CSV, so each search term is checked against its own
+ * response. The request for a term is sent once, by whichever method needs it first, which keeps the class
+ * safe for concurrent execution.</p>
  */
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class PostToSearchProductTest {
+    private static final Logger LOG = LogManager.getLogger(PostToSearchProductTest.class);
 
-    private Response response;
-    private String searchedProduct;
+    private final Exchanges<String> searches = new Exchanges<>();
 
     /**
      * Parameterized test that sends a POST request to search for a product.
@@ -63,17 +72,11 @@ public class PostToSearchProductTest {
      */
     @Order(1)
     @ParameterizedTest(name = "{index} - Search for product: {0}")
-    @CsvFileSource(files = Config.SEARCH_PRODUCT_CSV_PATH, numLinesToSkip = 1)
+    @CsvDataset(Config.SEARCH_PRODUCT_CSV_PATH)
     @DisplayName("Send POST request to search for product")
     void sendPostRequestToSearchProduct(String product) {
-        searchedProduct = product;
-        response = given()
-                .contentType("application/x-www-form-urlencoded")
-                .formParams("search_product", product)
-                .post(Config.BASE_URL + Config.SEARCH_PRODUCT_ENDPOINT)
-                .then()
-                .extract().response();
-        System.out.println("Search Response for \"" + product + "\":\n" + response.getBody().asString());
+        Response response = search(product);
+        ApiLog.body(LOG, Config.SEARCH_PRODUCT_ENDPOINT, () -> "Search response for \"" + product + "\"", response);
     }
 
     /**
@@ -81,11 +84,12 @@ public class PostToSearchProductTest {
      * matches the searched product (case-insensitive).
      */
     @Order(2)
-    @Test
+    @ParameterizedTest(name = "{index} - Search for product: {0}")
+    @CsvDataset(Config.SEARCH_PRODUCT_CSV_PATH)
     @DisplayName("Validate returned list contains searched product")
-    void validateReturnedListContainsSearchedProduct() {
+    void validateReturnedListContainsSearchedProduct(String searchedProduct) {
         // Extract list of categories from the response.
-        List<String> productCategoryList = response.jsonPath().getList("products.category.category");
+        List<String> productCategoryList = json(search(searchedProduct)).getList("products.category.category");
         // Assert that at least one category (case-insensitive) contains the searched product.
         boolean found = productCategoryList != null && productCategoryList.stream()
                 .anyMatch(category -> category.toLowerCase().contains(searchedProduct.toLowerCase()));
@@ -98,10 +102,11 @@ public class PostToSearchProductTest {
      * Validates that the JSON response includes the expected response code.
      */
     @Order(3)
-    @Test
+    @ParameterizedTest(name = "{index} - Search for product: {0}")
+    @CsvDataset(Config.SEARCH_PRODUCT_CSV_PATH)
     @DisplayName("Validate JSON response code is 200")
-    void validateResponseCode() {
-        String responseCode = response.jsonPath().getString("responseCode");
+    void validateResponseCode(String product) {
+        String responseCode = json(search(product)).getString("responseCode");
         assertThat("Expected JSON response code '200'!", responseCode, equalTo(String.valueOf(Config.EXPECTED_STATUS_CODE)));
     }
 
@@ -109,10 +114,11 @@ public class PostToSearchProductTest {
      * Validates that the HTTP status code is 200.
      */
     @Order(4)
-    @Test
+    @ParameterizedTest(name = "{index} - Search for product: {0}")
+    @CsvDataset(Config.SEARCH_PRODUCT_CSV_PATH)
     @DisplayName("Validate HTTP status code is 200")
-    void validateStatusCode() {
-        int statusCode = response.getStatusCode();
+    void validateStatusCode(String product) {
+        int statusCode = search(product).getStatusCode();
         assertThat("Expected HTTP status code 200!", statusCode, equalTo(Config.EXPECTED_STATUS_CODE));
     }
 
@@ -120,10 +126,11 @@ public class PostToSearchProductTest {
      * Additional Test: Validate that the response Content-Type header is as expected.
      */
     @Order(5)
-    @Test
+    @ParameterizedTest(name = "{index} - Search for product: {0}")
+    @CsvDataset(Config.SEARCH_PRODUCT_CSV_PATH)
     @DisplayName("Validate Content-Type header")
-    void validateContentTypeHeader() {
-        String contentType = response.header("content-type");
+    void validateContentTypeHeader(String product) {
+        String contentType = search(product).header("content-type");
         assertThat("Expected Content-Type header to be " + Config.EXPECTED_CONTENT_TYPE,
                 contentType, equalTo(Config.EXPECTED_CONTENT_TYPE));
     }
@@ -132,11 +139,24 @@ public class PostToSearchProductTest {
      * Additional Test: Validate that the list of products is not empty.
      */
     @Order(6)
-    @Test
+    @ParameterizedTest(name = "{index} - Search for product: {0}")
+    @CsvDataset(Config.SEARCH_PRODUCT_CSV_PATH)
     @DisplayName("Validate that the search returns at least one product")
-    void validateNonEmptyProductList() {
-        List<?> products = response.jsonPath().getList("products");
+    void validateNonEmptyProductList(String product) {
+        List<?> products = json(search(product)).getList("products");
         assertThat("Expected at least one product in the search results", products.size(), is(notNullValue()));
         assertFalse(products.isEmpty(), "Product list is empty!");
     }
+
+    /**
+     * Returns the search response for the given term, sending the POST request on first use.
+     */
+    private Response search(String product) {
+        return searches.get(product, () -> given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams("search_product", product)
+                .post(Config.SEARCH_PRODUCT_ENDPOINT)
+                .then()
+                .extract().response());
+    }
 }
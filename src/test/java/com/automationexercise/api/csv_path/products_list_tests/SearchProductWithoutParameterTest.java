@@ -1,10 +1,14 @@
 package com.automationexercise.api.csv_path.products_list_tests;
 
 import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.ApiLog;
 import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
 
-import static io.restassured.RestAssured.given;
+import static com.automationexercise.api.client.ApiClient.given;
+import static com.automationexercise.api.support.JsonBody.json;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 /**
@@ -32,10 +36,14 @@ import static org.hamcrest.Matchers.equalTo;
  *
  * <p>This documentation and the associated tests provide a clear, professional example of negative testing
  * for required parameters in an API.</p>
+ *
+ * <p>The message and response code are read with JSON pointers rather than GPath, which keeps Groovy's compiler
+ * out of the run.</p>
  */
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class SearchProductWithoutParameterTest {
+    private static final Logger LOG = LogManager.getLogger(SearchProductWithoutParameterTest.class);
 
     private Response response;
 
@@ -49,11 +57,11 @@ public class SearchProductWithoutParameterTest {
     void sendPostRequestToSearchProduct() {
         response = given()
                 .contentType("application/x-www-form-urlencoded")
-                .post(Config.BASE_URL + Config.SEARCH_PRODUCT_ENDPOINT)
+                .post(Config.SEARCH_PRODUCT_ENDPOINT)
                 .then()
                 .extract().response();
 
-        System.out.println("Search Product (Missing Parameter) Response:\n" + response.getBody().asString());
+        ApiLog.body(LOG, Config.SEARCH_PRODUCT_ENDPOINT, "Search product (missing parameter) response", response);
     }
 
     /**
@@ -64,7 +72,7 @@ public class SearchProductWithoutParameterTest {
     @Order(1)
     @DisplayName("Validate response message for missing search_product parameter")
     void validateResponseMessage() {
-        String actualMessage = response.jsonPath().getString("message");
+        String actualMessage = json(response).string("/message");
         assertThat("Expected response message: Bad request, search_product parameter is missing in POST request.",
                 actualMessage, equalTo(Config.BAD_REQUEST_PRODUCT_PARAMETER_IS_MISSING_MESSAGE));
     }
@@ -76,7 +84,7 @@ public class SearchProductWithoutParameterTest {
     @Order(2)
     @DisplayName("Validate JSON response code is 400")
     void validateResponseCode() {
-        String actualResponseCode = response.jsonPath().getString("responseCode");
+        String actualResponseCode = json(response).string("/responseCode");
         assertThat("Expected JSON response code '400'!",
                 actualResponseCode, equalTo(Config.EXPECTED_RESPONSE_CODE_400));
     }
@@ -1,16 +1,23 @@
 package com.automationexercise.api.csv_path.user_tests;
 
 import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.ApiLog;
+import com.automationexercise.api.support.Datasets;
+import com.automationexercise.api.support.Exchanges;
+import com.automationexercise.api.support.UserFixturePool;
+import com.automationexercise.api.support.UserRecord;
 import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvFileSource;
+import org.junit.jupiter.params.provider.MethodSource;
 
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.List;
+import java.util.stream.Stream;
 
-import static io.restassured.RestAssured.given;
+import static com.automationexercise.api.client.ApiClient.given;
+import static com.automationexercise.api.support.JsonBody.json;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -35,61 +42,48 @@ import static org.junit.jupiter.api.Assertions.fail;
  *
  * <p>The test class includes the following steps:</p>
  * <ol>
- *   <li><strong>Pre-test Cleanup:</strong> In the <code>@BeforeAll</code> method, it attempts to delete
- *       any existing test user accounts (using the creation CSV) to ensure a clean state. If the deletion
- *       does not return the expected "Account not found!" message, the test fails early.</li>
+ *   <li><strong>Pre-test Cleanup:</strong> In the <code>@BeforeAll</code> method, it leases the creation
+ *       CSV accounts from the {@link UserFixturePool} as absent, so any existing test user account is deleted
+ *       first. If an account cannot be removed, the test fails early.</li>
  *   <li><strong>Create User Account:</strong> A parameterized test reads user data from a CSV file
  *       (<code>Config.CREATE_USER_CSV_PATH</code>) and sends a POST request to create the user. The test
  *       fails if the response indicates that the user already exists or any unexpected response is received.</li>
  *   <li><strong>Validations:</strong> Separate tests validate that the response message, response code,
  *       and HTTP status code match the expected values.</li>
- *   <li><strong>Post-test Cleanup:</strong> In the <code>@AfterAll</code> method, the test class deletes
- *       the created test users to restore the system to its initial state, logging a warning if any deletion
- *       does not succeed as expected.</li>
+ *   <li><strong>Post-test Cleanup:</strong> In the <code>@AfterAll</code> method, the lease is released.
+ *       The created accounts stay in the pool for the other user test classes and are deleted once the whole
+ *       suite has finished.</li>
  * </ol>
  *
  * <p>This comprehensive test suite demonstrates robust API testing practices and is designed to be clear
  * and maintainable.</p>
+ *
+ * <p>The validations are parameterized over the creation CSV, so every created account is checked against its
+ * own response; the POST for a row is sent once, by whichever method needs it first. The class holds the
+ * <code>Config.CREATE_USER_ACCOUNTS_LOCK</code> resource lock exclusively because other classes use the same
+ * accounts.</p>
  */
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ResourceLock(Config.CREATE_USER_ACCOUNTS_LOCK)
 public class CreateUserAccountTest {
-    private Response response;
+    private static final Logger LOG = LogManager.getLogger(CreateUserAccountTest.class);
+
+    private final Exchanges<String> createdAccounts = new Exchanges<>();
+    private UserFixturePool.Lease accounts;
 
     /**
-     * <p><strong>Pre-test Cleanup:</strong> Delete any existing test user accounts using data from the
-     * creation CSV to ensure a clean state.</p>
+     * <p><strong>Pre-test Cleanup:</strong> Lease the accounts of the creation CSV
+     * (<code>Config.CREATE_USER_CSV_PATH</code>) as absent, so none of them exists when the tests start.</p>
      *
-     * <p>The deletion is performed by reading the CSV file (<code>Config.CREATE_USER_CSV_PATH</code>),
-     * and for each record, sending a DELETE request. The test fails early if the deletion response is not
-     * as expected (i.e. "Account not found!" indicating no pre-existing account).</p>
+     * <p>The pool only sends DELETE requests when the accounts may exist, e.g. because another class used them
+     * earlier in the run. The test fails early, listing every unexpected response, if an account cannot be
+     * removed.</p>
      */
     @BeforeAll
     @DisplayName("Pre-test Cleanup: Delete existing test users")
-    void deleteTestUsers() throws Exception {
-        List<String> lines = Files.readAllLines(Paths.get(Config.CREATE_USER_CSV_PATH));
-        // Skip header (assumed at index 0) and iterate through each line
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i);
-            String[] fields = line.split(",");
-            // Extract email and password from the CSV
-            String email = fields[1].trim();
-            String password = fields[2].trim();
-            Response deleteResponse = given()
-                    .log().all()
-                    .contentType("application/x-www-form-urlencoded")
-                    .formParams("email", email, "password", password)
-                    .delete(Config.BASE_URL + Config.DELETE_ACCOUNT_ENDPOINT)
-                    .then()
-                    .extract().response();
-            String deleteMessage = deleteResponse.jsonPath().getString("message");
-            System.out.println("Delete response for " + email + ": " + deleteResponse.getBody().asString());
-
-            // If the deletion does not return "Account not found!", fail early
-            if (!("Account not found!".equals(deleteMessage))) {
-                fail(String.format("Pre-test cleanup failed for %s. Received response: %s", email, deleteMessage));
-            }
-        }
+    void deleteTestUsers() {
+        accounts = UserFixturePool.lease(Config.CREATE_USER_CSV_PATH, UserFixturePool.Access.ABSENT);
     }
 
     /**
@@ -106,117 +100,90 @@ public class CreateUserAccountTest {
      * </pre>
      */
     @Order(1)
-    @ParameterizedTest(name = "{index} - Create account for Email: {1}")
-    @CsvFileSource(files = Config.CREATE_USER_CSV_PATH, numLinesToSkip = 1)
+    @ParameterizedTest(name = "{index} - Create account for Email: {0}")
+    @MethodSource("users")
     @DisplayName("Send POST request to create test accounts")
-    void createTestAccounts(String name, String email, String password, String title, String birthDay,
-                            String birthMonth, String birthYear, String firstName, String lastName,
-                            String company, String address1, String address2, String country,
-                            String zipcode, String state, String city, String mobileNumber) {
-
-        response = given()
-                .contentType("application/x-www-form-urlencoded")
-                .formParams(
-                        "name", name,
-                        "email", email,
-                        "password", password,
-                        "title", title,
-                        "birth_date", birthDay,
-                        "birth_month", birthMonth,
-                        "birth_year", birthYear,
-                        "firstname", firstName,
-                        "lastname", lastName,
-                        "company", company,
-                        "address1", address1,
-                        "address2", address2,
-                        "country", country,
-                        "zipcode", zipcode,
-                        "state", state,
-                        "city", city,
-                        "mobile_number", mobileNumber
-                )
-                .post(Config.BASE_URL + Config.CREATE_ACCOUNT_ENDPOINT)
-                .then()
-                .extract().response();
+    void createTestAccounts(UserRecord user) {
+        String email = user.email();
+        Response response = createAccount(user);
 
         // Retrieve the response message for logging and assertions.
-        String message = response.jsonPath().getString("message");
+        String message = json(response).getString("message");
         if ("Email already exists!".equals(message)) {
             fail("Test failed: Received 'User already exists!' when attempting to create user " + email);
         } else if ("User created!".equals(message)) {
-            System.out.println("User created successfully: " + email);
+            LOG.info("User created successfully: {}", email);
         } else {
             fail(String.format("Test failed: Unexpected response: '%s' when attempting to create user %s", message, email));
         }
 
-        System.out.println("Response Body:\n" + response.getBody().asString());
+        ApiLog.body(LOG, Config.CREATE_ACCOUNT_ENDPOINT, () -> "Create response for " + email, response);
     }
 
     /**
      * Validates that the response message from the create account request is "User created!".
      */
     @Order(2)
-    @Test
+    @ParameterizedTest(name = "{index} - Validate response message for Email: {0}")
+    @MethodSource("users")
     @DisplayName("Validate response message: User created!")
-    void validateResponseMessage() {
+    void validateResponseMessage(UserRecord user) {
         assertThat("Expected response message 'User created!'",
-                response.jsonPath().getString("message"), equalTo("User created!"));
+                json(createAccount(user)).getString("message"), equalTo("User created!"));
     }
 
     /**
      * Validates that the JSON response contains the expected response code "201".
      */
     @Order(3)
-    @Test
+    @ParameterizedTest(name = "{index} - Validate response code for Email: {0}")
+    @MethodSource("users")
     @DisplayName("Validate response code: 201")
-    void validateResponseCode201() {
+    void validateResponseCode201(UserRecord user) {
         assertThat("Expected response code 201!",
-                response.jsonPath().getString("responseCode"), equalTo("201"));
+                json(createAccount(user)).getString("responseCode"), equalTo("201"));
     }
 
     /**
      * Validates that the HTTP status code is 200.
      */
     @Order(4)
-    @Test
+    @ParameterizedTest(name = "{index} - Validate HTTP status code for Email: {0}")
+    @MethodSource("users")
     @DisplayName("Validate HTTP status code: 200")
-    void validateStatusCode200() {
+    void validateStatusCode200(UserRecord user) {
         assertThat("Expected HTTP status code 200!",
-                response.getStatusCode(), equalTo(Config.EXPECTED_STATUS_CODE));
+                createAccount(user).getStatusCode(), equalTo(Config.EXPECTED_STATUS_CODE));
     }
 
     /**
-     * <p><strong>Cleanup:</strong> Delete the test users created during the tests. This method is executed
-     * after all tests have completed and reads the same CSV used for creation.</p>
-     *
-     * <p>It sends a DELETE request for each user and logs the response. If a deletion does not return the
-     * expected "User deleted!" message, it logs a warning.</p>
+     * <p><strong>Cleanup:</strong> Release the lease on the creation CSV accounts. The accounts created by this
+     * class are reused by the other user test classes and deleted by the pool once the suite has finished.</p>
      */
     @AfterAll
-    @DisplayName("Cleanup: Delete test users")
-    void cleanUpTestUsers() throws Exception {
-        List<String> lines = Files.readAllLines(Paths.get(Config.CREATE_USER_CSV_PATH));
-        // Skip header (assumed at index 0)
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i);
-            String[] fields = line.split(",");
-            String email = fields[1].trim();
-            String password = fields[2].trim();
-            Response deleteResponse = given()
-                    .log().all()
-                    .contentType("application/x-www-form-urlencoded")
-                    .formParams("email", email)
-                    .formParam("password", password)
-                    .delete(Config.BASE_URL + Config.DELETE_ACCOUNT_ENDPOINT)
-                    .then()
-                    .extract().response();
+    @DisplayName("Cleanup: Release test users")
+    void cleanUpTestUsers() {
+        if (accounts != null) {
+            accounts.close();
+        }
+    }
 
-            System.out.println("Delete response for " + email + ":\n" + deleteResponse.getBody().asString());
+    /**
+     * The accounts of the creation CSV, read once per run through {@link Datasets}.
+     */
+    Stream<UserRecord> users() {
+        return Datasets.users(Config.CREATE_USER_CSV_PATH).stream();
+    }
 
-            String deleteMessage = deleteResponse.jsonPath().getString("message");
-            if (!"User deleted!".equals(deleteMessage)) {
-                System.err.println(String.format("Warning: Deletion of user %s did not succeed as expected. Response: %s", email, deleteMessage));
-            }
-        }
+    /**
+     * Returns the create-account response for the user, sending the POST request on first use.
+     */
+    private Response createAccount(UserRecord user) {
+        return createdAccounts.get(user.email(), () -> given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams(user.toForm())
+                .post(Config.CREATE_ACCOUNT_ENDPOINT)
+                .then()
+                .extract().response());
     }
 }
@@ -1,21 +1,24 @@
 package com.automationexercise.api.csv_path.user_tests;
 
 import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.ApiLog;
+import com.automationexercise.api.support.CsvDataset;
+import com.automationexercise.api.support.Exchanges;
+import com.automationexercise.api.support.UserFixturePool;
 import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvFileSource;
 
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
-import static io.restassured.RestAssured.given;
+import static com.automationexercise.api.client.ApiClient.given;
+import static com.automationexercise.api.support.JsonBody.json;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
-import static org.junit.jupiter.api.Assertions.fail;
 
 /**
  * <h1>DeleteUserAccountTest</h1>
@@ -35,9 +38,10 @@ import static org.junit.jupiter.api.Assertions.fail;
  *
  * <p>The tests in this class perform the following validations:</p>
  * <ol>
- *   <li><strong>Pre-test Setup:</strong> The <code>@BeforeAll</code> method creates test users using data from a CSV file
- *       (<code>Config.CREATE_USER_CSV_PATH</code>). This ensures that accounts exist before deletion. If creation fails,
- *       the tests fail early.</li>
+ *   <li><strong>Pre-test Setup:</strong> The <code>@BeforeAll</code> method takes an exclusive lease on the test users
+ *       of a CSV file (<code>Config.CREATE_USER_CSV_PATH</code>) from the {@link UserFixturePool}. This ensures that
+ *       accounts exist before deletion and that no other class uses them meanwhile. If creation fails, the tests fail
+ *       early.</li>
  *   <li><strong>Delete Operation:</strong> A parameterized test sends a DELETE request for each user provided in the CSV file
  *       (<code>Config.DELETE_USER_CSV_PATH</code>).</li>
  *   <li><strong>Response Validations:</strong> Separate tests verify that the response message, JSON response code, and
@@ -47,79 +51,30 @@ import static org.junit.jupiter.api.Assertions.fail;
  *
  * <p>This comprehensive testing approach ensures that user account deletion behaves as expected and the API's
  * response adheres to the defined contract.</p>
+ *
+ * <p>Each validation is parameterized over the deletion CSV and reads the response of its own row; the DELETE
+ * for a row is sent once, by whichever method needs it first, so the methods can run concurrently.</p>
  */
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ResourceLock(Config.CREATE_USER_ACCOUNTS_LOCK)
 public class DeleteUserAccountTest {
+    private static final Logger LOG = LogManager.getLogger(DeleteUserAccountTest.class);
 
-    private Response response;
+    private final Exchanges<String> deletions = new Exchanges<>();
+    private UserFixturePool.Lease accounts;
 
     /**
-     * <p><strong>Pre-test Setup:</strong> Create test users using data from the creation CSV file
-     * (<code>Config.CREATE_USER_CSV_PATH</code>) to ensure that accounts exist prior to deletion.</p>
+     * <p><strong>Pre-test Setup:</strong> Lease the test users of the creation CSV file
+     * (<code>Config.CREATE_USER_CSV_PATH</code>) exclusively, since this class deletes some of them.</p>
      *
-     * <p>If the deletion of any pre-existing user fails with an unexpected message (i.e. not "Account not found!"),
-     * the test fails early.</p>
+     * <p>The pool creates the accounts concurrently if they do not exist yet. If any creation returns an
+     * unexpected message, the test fails early with all failed accounts listed.</p>
      */
     @BeforeAll
     @DisplayName("Pre-test Setup: Create test users")
-    void createTestUsers() throws Exception {
-        // Read the CSV file.
-        List<String> lines = Files.readAllLines(Paths.get(Config.CREATE_USER_CSV_PATH));
-        // Skip header (index 0) and iterate through the rest of the lines
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i);
-            String[] fields = line.split(",");
-            String name = fields[0].trim();
-            String email = fields[1].trim();
-            String password = fields[2].trim();
-            String title = fields[3].trim();
-            String birthDay = fields[4].trim();
-            String birthMonth = fields[5].trim();
-            String birthYear = fields[6].trim();
-            String firstName = fields[7].trim();
-            String lastName = fields[8].trim();
-            String company = fields[9].trim();
-            String address1 = fields[10].trim();
-            String address2 = fields[11].trim();
-            String country = fields[12].trim();
-            String zipcode = fields[13].trim();
-            String state = fields[14].trim();
-            String city = fields[15].trim();
-            String mobileNumber = fields[16].trim();
-            Response createResponse = given()
-                    .log().all()
-                    .contentType("application/x-www-form-urlencoded")
-                    .formParams(
-                            "name", name,
-                            "email", email,
-                            "password", password,
-                            "title", title,
-                            "birth_date", birthDay,
-                            "birth_month", birthMonth,
-                            "birth_year", birthYear,
-                            "firstname", firstName,
-                            "lastname", lastName,
-                            "company", company,
-                            "address1", address1,
-                            "address2", address2,
-                            "country", country,
-                            "zipcode", zipcode,
-                            "state", state,
-                            "city", city,
-                            "mobile_number", mobileNumber
-                    )
-                    .post(Config.BASE_URL + Config.CREATE_ACCOUNT_ENDPOINT)
-                    .then()
-                    .extract().response();
-            String createMessage = createResponse.jsonPath().getString("message");
-            System.out.println("Create response for " + email + ": " + createResponse.getBody().asString());
-
-            // Fail early if the creation response is not as expected.
-            if (!("User created!".equals(createMessage) || "User already exists!".equals(createMessage))) {
-                fail(String.format("User creation failed for %s. Received response: %s", email, createMessage));
-            }
-        }
+    void createTestUsers() {
+        accounts = UserFixturePool.lease(Config.CREATE_USER_CSV_PATH, UserFixturePool.Access.EXCLUSIVE);
     }
 
     /**
@@ -134,60 +89,58 @@ public class DeleteUserAccountTest {
      */
     @Order(1)
     @ParameterizedTest(name = "{index} - Delete account for Email: {0}")
-    @CsvFileSource(files = Config.DELETE_USER_CSV_PATH, numLinesToSkip = 1)
+    @CsvDataset(Config.DELETE_USER_CSV_PATH)
     @DisplayName("Send DELETE request to delete user account")
     void sendDeleteRequestToDeleteAccount(String email, String password) {
-        response = given()
-                .log().all()
-                .contentType("application/x-www-form-urlencoded")
-                .formParams("email", email, "password", password)
-                .delete(Config.BASE_URL + Config.DELETE_ACCOUNT_ENDPOINT)
-                .then()
-                .extract().response();
-        System.out.println("Delete response for " + email + ":\n" + response.getBody().asString());
+        Response response = deleteAccount(email, password);
+        ApiLog.body(LOG, Config.DELETE_ACCOUNT_ENDPOINT, () -> "Delete response for " + email, response);
     }
 
     /**
      * Validates that the response message is "Account deleted!".
      */
     @Order(2)
-    @Test
+    @ParameterizedTest(name = "{index} - Validate response message for Email: {0}")
+    @CsvDataset(Config.DELETE_USER_CSV_PATH)
     @DisplayName("Validate response message: Account deleted!")
-    void validateResponseMessage() {
+    void validateResponseMessage(String email, String password) {
         assertThat("Expected response message: 'Account deleted!'",
-                response.jsonPath().getString("message"), equalTo(Config.EXPECTED_ACCOUNT_DELETED_MESSAGE));
+                json(deleteAccount(email, password)).getString("message"), equalTo(Config.EXPECTED_ACCOUNT_DELETED_MESSAGE));
     }
 
     /**
      * Validates that the JSON response contains the expected response code "200".
      */
     @Order(3)
-    @Test
+    @ParameterizedTest(name = "{index} - Validate response code for Email: {0}")
+    @CsvDataset(Config.DELETE_USER_CSV_PATH)
     @DisplayName("Validate JSON response code is 200")
-    void validateResponseCode200() {
+    void validateResponseCode200(String email, String password) {
         assertThat("Expected JSON response code 200!",
-                response.jsonPath().getString("responseCode"), equalTo(Config.EXPECTED_RESPONSE_CODE_200));
+                json(deleteAccount(email, password)).getString("responseCode"), equalTo(Config.EXPECTED_RESPONSE_CODE_200));
     }
 
     /**
      * Validates that the HTTP status code of the response is 200.
      */
     @Order(4)
-    @Test
+    @ParameterizedTest(name = "{index} - Validate HTTP status code for Email: {0}")
+    @CsvDataset(Config.DELETE_USER_CSV_PATH)
     @DisplayName("Validate HTTP status code is 200")
-    void validateStatusCode200() {
+    void validateStatusCode200(String email, String password) {
         assertThat("Expected HTTP status code 200!",
-                response.getStatusCode(), equalTo(Config.EXPECTED_STATUS_CODE));
+                deleteAccount(email, password).getStatusCode(), equalTo(Config.EXPECTED_STATUS_CODE));
     }
 
     /**
      * Additional test: Validates that the Content-Type header in the response matches the expected value.
      */
     @Order(5)
-    @Test
+    @ParameterizedTest(name = "{index} - Validate Content-Type for Email: {0}")
+    @CsvDataset(Config.DELETE_USER_CSV_PATH)
     @DisplayName("Validate Content-Type header")
-    void validateContentTypeHeader() {
-        String contentType = response.header("content-type");
+    void validateContentTypeHeader(String email, String password) {
+        String contentType = deleteAccount(email, password).header("content-type");
         assertThat("Expected Content-Type header to be " + Config.EXPECTED_CONTENT_TYPE,
                 contentType, equalTo(Config.EXPECTED_CONTENT_TYPE));
     }
@@ -196,11 +149,12 @@ public class DeleteUserAccountTest {
      * Additional test: Validates that the JSON response structure contains only the keys "responseCode" and "message".
      */
     @Order(6)
-    @Test
+    @ParameterizedTest(name = "{index} - Validate JSON structure for Email: {0}")
+    @CsvDataset(Config.DELETE_USER_CSV_PATH)
     @DisplayName("Validate JSON response structure")
-    void validateResponseJsonStructure() {
+    void validateResponseJsonStructure(String email, String password) {
         // Convert the JSON response into a Map
-        java.util.Map<String, Object> responseMap = response.jsonPath().getMap("");
+        java.util.Map<String, Object> responseMap = json(deleteAccount(email, password)).getMap("");
         Set<String> expectedKeys = new HashSet<>();
         expectedKeys.add("responseCode");
         expectedKeys.add("message");
@@ -209,34 +163,26 @@ public class DeleteUserAccountTest {
     }
 
     /**
-     * <p><strong>Cleanup:</strong> After all tests have run, this method deletes all test users using data
-     * from the creation CSV file (<code>Config.CREATE_USER_CSV_PATH</code>).</p>
-     *
-     * <p>If a deletion does not return the expected "User deleted!" message, a warning is logged.</p>
+     * <p><strong>Cleanup:</strong> Release the exclusive lease. The pool re-creates the deleted accounts before
+     * the next class leases them and deletes all of them once the suite has finished.</p>
      */
     @AfterAll
-    @DisplayName("Cleanup: Delete test users")
-    void cleanUpTestUsers() throws Exception {
-        List<String> lines = Files.readAllLines(Paths.get(Config.CREATE_USER_CSV_PATH));
-        // Skip header (assumed at index 0)
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i);
-            String[] fields = line.split(",");
-            String email = fields[1].trim();
-            String password = fields[2].trim();
-            Response deleteResponse = given()
-                    .log().all()
-                    .contentType("application/x-www-form-urlencoded")
-                    .formParams("email", email)
-                    .formParam("password", password)
-                    .delete(Config.BASE_URL + Config.DELETE_ACCOUNT_ENDPOINT)
-                    .then()
-                    .extract().response();
-            System.out.println("Cleanup - Delete response for " + email + ":\n" + deleteResponse.getBody().asString());
-            String deleteMessage = deleteResponse.jsonPath().getString("message");
-            if (!"User deleted!".equals(deleteMessage)) {
-                System.err.println(String.format("Warning: Deletion of user %s did not succeed as expected. Response: %s", email, deleteMessage));
-            }
+    @DisplayName("Cleanup: Release test users")
+    void cleanUpTestUsers() {
+        if (accounts != null) {
+            accounts.close();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the DELETE response for the given account, sending the request on first use.
+     */
+    private Response deleteAccount(String email, String password) {
+        return deletions.get(email, () -> given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams("email", email, "password", password)
+                .delete(Config.DELETE_ACCOUNT_ENDPOINT)
+                .then()
+                .extract().response());
+    }
+}
@@ -1,19 +1,21 @@
 package com.automationexercise.api.csv_path.user_tests;
 
 import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.ApiLog;
+import com.automationexercise.api.support.CsvDataset;
+import com.automationexercise.api.support.UserFixturePool;
 import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvFileSource;
 
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.List;
-
-import static io.restassured.RestAssured.given;
+import static com.automationexercise.api.client.ApiClient.given;
+import static com.automationexercise.api.support.JsonBody.json;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
-import static org.junit.jupiter.api.Assertions.fail;
 
 /**
  * <h1>InvalidLoginTest</h1>
@@ -43,73 +45,19 @@ import static org.junit.jupiter.api.Assertions.fail;
  */
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ResourceLock(value = Config.CREATE_USER_ACCOUNTS_LOCK, mode = ResourceAccessMode.READ)
 public class InvalidLoginTest {
+    private static final Logger LOG = LogManager.getLogger(InvalidLoginTest.class);
 
-    private Response response;
+    private UserFixturePool.Lease accounts;
 
     /**
-     * Create test users from the creation CSV.
+     * Lease the test users of the creation CSV read-only; the pool creates them if needed.
      * Fail early if user creation fails.
      */
     @BeforeAll
-    void createTestUsers() throws Exception {
-        // Read the CSV file.
-        List<String> lines = Files.readAllLines(Paths.get(Config.CREATE_USER_CSV_PATH));
-        // Skip header (index 0) and iterate through the rest of the lines
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i);
-            String[] fields = line.split(",");
-            String name = fields[0].trim();
-            String email = fields[1].trim();
-            String password = fields[2].trim();
-            String title = fields[3].trim();
-            String birthDay = fields[4].trim();
-            String birthMonth = fields[5].trim();
-            String birthYear = fields[6].trim();
-            String firstName = fields[7].trim();
-            String lastName = fields[8].trim();
-            String company = fields[9].trim();
-            String address1 = fields[10].trim();
-            String address2 = fields[11].trim();
-            String country = fields[12].trim();
-            String zipcode = fields[13].trim();
-            String state = fields[14].trim();
-            String city = fields[15].trim();
-            String mobileNumber = fields[16].trim();
-            Response createResponse = given()
-                    .log().all()
-                    .contentType("application/x-www-form-urlencoded")
-                    .formParams(
-                            "name", name,
-                            "email", email,
-                            "password", password,
-                            "title", title,
-                            "birth_date", birthDay,
-                            "birth_month", birthMonth,
-                            "birth_year", birthYear,
-                            "firstname", firstName,
-                            "lastname", lastName,
-                            "company", company,
-                            "address1", address1,
-                            "address2", address2,
-                            "country", country,
-                            "zipcode", zipcode,
-                            "state", state,
-                            "city", city,
-                            "mobile_number", mobileNumber
-                    )
-                    .post(Config.BASE_URL + Config.CREATE_ACCOUNT_ENDPOINT)
-                    .then()
-                    .extract().response();
-
-            String createMessage = createResponse.jsonPath().getString("message");
-            System.out.println("Create response for " + email + ": " + createResponse.getBody().asString());
-
-            // Fail early if the creation response is not as expected.
-            if (!("User created!".equals(createMessage) || "User already exists!".equals(createMessage))) {
-                fail(String.format("User creation failed for %s. Received response: %s", email, createMessage));
-            }
-        }
+    void createTestUsers() {
+        accounts = UserFixturePool.lease(Config.CREATE_USER_CSV_PATH, UserFixturePool.Access.READ);
     }
 
 
@@ -122,20 +70,20 @@ public class InvalidLoginTest {
      */
     @Order(1)
     @ParameterizedTest(name = "{index} - Verify invalid login for email: {0}")
-    @CsvFileSource(files = Config.INVALID_LOGIN_CSV_PATH, numLinesToSkip = 1)
+    @CsvDataset(Config.INVALID_LOGIN_CSV_PATH)
     @DisplayName("Verify login with invalid credentials")
     void verifyLoginWithInvalidCredentials(String email, String password) {
-        response = given()
+        Response response = given()
                 .contentType("application/x-www-form-urlencoded")
                 .formParams("email", email, "password", password)
-                .post(Config.BASE_URL + Config.LOGIN_ENDPOINT)
+                .post(Config.LOGIN_ENDPOINT)
                 .then()
                 .extract().response();
-        System.out.println("Response Body (Invalid Credentials): " + response.getBody().asString());
+        ApiLog.body(LOG, Config.LOGIN_ENDPOINT, "Response (invalid credentials)", response);
         assertThat("Expected response message: 'User not found!'",
-                response.jsonPath().getString("message"), equalTo(Config.USER_NOT_FOUND_MESSAGE));
+                json(response).getString("message"), equalTo(Config.USER_NOT_FOUND_MESSAGE));
         assertThat("Expected response code 404!",
-                response.jsonPath().getString("responseCode"), equalTo(Config.EXPECTED_RESPONSE_CODE_404));
+                json(response).getString("responseCode"), equalTo(Config.EXPECTED_RESPONSE_CODE_404));
         assertThat("Expected HTTP status code 200!",
                 response.getStatusCode(), equalTo(Config.EXPECTED_STATUS_CODE));
     }
@@ -149,20 +97,20 @@ public class InvalidLoginTest {
      */
     @Order(2)
     @ParameterizedTest(name = "{index} - Verify login missing email with password: {0}")
-    @CsvFileSource(files = Config.INVALID_LOGIN_CSV_PATH, numLinesToSkip = 1)
+    @CsvDataset(Config.INVALID_LOGIN_CSV_PATH)
     @DisplayName("Verify login without email parameter")
     void verifyLoginWithoutEmail(String password) {
-        response = given()
+        Response response = given()
                 .contentType("application/x-www-form-urlencoded")
                 .formParam("password", password)
-                .post(Config.BASE_URL + Config.LOGIN_ENDPOINT)
+                .post(Config.LOGIN_ENDPOINT)
                 .then()
                 .extract().response();
-        System.out.println("Response Body (Missing Email): " + response.getBody().asString());
+        ApiLog.body(LOG, Config.LOGIN_ENDPOINT, "Response (missing email)", response);
         assertThat("Expected response message for missing email",
-                response.jsonPath().getString("message"), equalTo(Config.MISSING_EMAIL_OR_PASSWORD_MESSAGE));
+                json(response).getString("message"), equalTo(Config.MISSING_EMAIL_OR_PASSWORD_MESSAGE));
         assertThat("Expected response code 400!",
-                response.jsonPath().getString("responseCode"), equalTo(Config.EXPECTED_RESPONSE_CODE_400));
+                json(response).getString("responseCode"), equalTo(Config.EXPECTED_RESPONSE_CODE_400));
         assertThat("Expected HTTP status code 200!",
                 response.getStatusCode(), equalTo(Config.EXPECTED_STATUS_CODE));
     }
@@ -176,50 +124,32 @@ public class InvalidLoginTest {
      */
     @Order(3)
     @ParameterizedTest(name = "{index} - Verify login missing email with password: {0}")
-    @CsvFileSource(files = Config.INVALID_LOGIN_CSV_PATH, numLinesToSkip = 1)
+    @CsvDataset(Config.INVALID_LOGIN_CSV_PATH)
     @DisplayName("Verify login without password parameter")
     void verifyLoginWithoutPassword(String email) {
-        response = given()
+        Response response = given()
                 .contentType("application/x-www-form-urlencoded")
                 .formParam("email", email)
-                .post(Config.BASE_URL + Config.LOGIN_ENDPOINT)
+                .post(Config.LOGIN_ENDPOINT)
                 .then()
                 .extract().response();
-        System.out.println("Response Body (Missing Password): " + response.getBody().asString());
+        ApiLog.body(LOG, Config.LOGIN_ENDPOINT, "Response (missing password)", response);
         assertThat("Expected response message for missing password",
-                response.jsonPath().getString("message"), equalTo(Config.MISSING_EMAIL_OR_PASSWORD_MESSAGE));
+                json(response).getString("message"), equalTo(Config.MISSING_EMAIL_OR_PASSWORD_MESSAGE));
         assertThat("Expected response code 400!",
-                response.jsonPath().getString("responseCode"), equalTo(Config.EXPECTED_RESPONSE_CODE_400));
+                json(response).getString("responseCode"), equalTo(Config.EXPECTED_RESPONSE_CODE_400));
         assertThat("Expected HTTP status code 200!",
                 response.getStatusCode(), equalTo(Config.EXPECTED_STATUS_CODE));
     }
 
     /**
-     * Cleanup: Delete test users after all tests have run.
-     * This method reads the creation CSV (Config.CREATE_USER_CSV_PATH) and sends a DELETE request for each user.
-     * If deletion does not succeed as expected, a warning is logged.
+     * Cleanup: Release the test users after all tests have run.
+     * The pool deletes the accounts of the creation CSV (Config.CREATE_USER_CSV_PATH) once the whole suite has finished.
      */
     @AfterAll
-    void cleanUpTestUsers() throws Exception {
-        List<String> lines = Files.readAllLines(Paths.get(Config.CREATE_USER_CSV_PATH));
-        // Skip header (assumed at index 0) and iterate through the remaining lines
-        for (int i = 1; i < lines.size(); i++) {
-            String[] fields = lines.get(i).split(",");
-            String email = fields[1].trim();
-            String password = fields[2].trim();
-            Response deleteResponse = given()
-                    .log().all()
-                    .contentType("application/x-www-form-urlencoded")
-                    .formParams("email", email)
-                    .formParam("password", password)
-                    .delete(Config.BASE_URL + Config.DELETE_ACCOUNT_ENDPOINT)
-                    .then()
-                    .extract().response();
-            System.out.println("Delete response for " + email + ": " + deleteResponse.getBody().asString());
-            String deleteMessage = deleteResponse.jsonPath().getString("message");
-            if (!"Account deleted!".equals(deleteMessage)) {
-                System.err.println(String.format("Warning: Deletion of user %s did not succeed as expected. Response: %s", email, deleteMessage));
-            }
+    void cleanUpTestUsers() {
+        if (accounts != null) {
+            accounts.close();
         }
     }
 }
\ No newline at end of file
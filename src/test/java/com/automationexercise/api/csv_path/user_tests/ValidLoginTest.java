@@ -1,19 +1,21 @@
 package com.automationexercise.api.csv_path.user_tests;
 
 import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.ApiLog;
+import com.automationexercise.api.support.CsvDataset;
+import com.automationexercise.api.support.UserFixturePool;
 import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvFileSource;
 
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.List;
-
-import static io.restassured.RestAssured.given;
+import static com.automationexercise.api.client.ApiClient.given;
+import static com.automationexercise.api.support.JsonBody.json;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
-import static org.junit.jupiter.api.Assertions.fail;
 
 /**
  * <h1>ValidLoginTest</h1>
@@ -34,7 +36,7 @@ import static org.junit.jupiter.api.Assertions.fail;
  *
  * <p>The test class includes the following steps:</p>
  * <ol>
- *   <li><strong>Setup:</strong> Create test users using data from a CSV file (<code>Config.CREATE_USER_CSV_PATH</code>)
+ *   <li><strong>Setup:</strong> Lease the test users of a CSV file (<code>Config.CREATE_USER_CSV_PATH</code>) read-only
  *       to ensure that user accounts exist before testing valid logins. If creation fails, tests will fail early.</li>
  *   <li><strong>Valid Login Test:</strong> A parameterized test reads valid login credentials from a CSV file
  *       (<code>Config.VALID_LOGIN_CSV_PATH</code>) and sends a POST request to the Verify Login endpoint.</li>
@@ -45,7 +47,7 @@ import static org.junit.jupiter.api.Assertions.fail;
  *       <li>The expected HTTP status code (200)</li>
  *     </ul>
  *   </li>
- *   <li><strong>Cleanup:</strong> After all tests, the created test users are deleted using the data from the creation CSV.</li>
+ *   <li><strong>Cleanup:</strong> After all tests, the lease is released; the pool deletes the test users once the suite has finished.</li>
  * </ol>
  *
  * <p>This comprehensive test suite demonstrates robust, data-driven API testing practices and is designed to be
@@ -53,73 +55,19 @@ import static org.junit.jupiter.api.Assertions.fail;
  */
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ResourceLock(value = Config.CREATE_USER_ACCOUNTS_LOCK, mode = ResourceAccessMode.READ)
 public class ValidLoginTest {
+    private static final Logger LOG = LogManager.getLogger(ValidLoginTest.class);
 
-    private Response response;
+    private UserFixturePool.Lease accounts;
 
     /**
-     * Create test users from the creation CSV.
+     * Lease the test users of the creation CSV read-only; the pool creates them if needed.
      * Fail early if user creation fails.
      */
     @BeforeAll
-    void createTestUsers() throws Exception {
-        // Read the CSV file.
-        List<String> lines = Files.readAllLines(Paths.get(Config.CREATE_USER_CSV_PATH));
-        // Skip header (index 0) and iterate through the rest of the lines
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i);
-            String[] fields = line.split(",");
-            String name = fields[0].trim();
-            String email = fields[1].trim();
-            String password = fields[2].trim();
-            String title = fields[3].trim();
-            String birthDay = fields[4].trim();
-            String birthMonth = fields[5].trim();
-            String birthYear = fields[6].trim();
-            String firstName = fields[7].trim();
-            String lastName = fields[8].trim();
-            String company = fields[9].trim();
-            String address1 = fields[10].trim();
-            String address2 = fields[11].trim();
-            String country = fields[12].trim();
-            String zipcode = fields[13].trim();
-            String state = fields[14].trim();
-            String city = fields[15].trim();
-            String mobileNumber = fields[16].trim();
-            Response createResponse = given()
-                    .log().all()
-                    .contentType("application/x-www-form-urlencoded")
-                    .formParams(
-                            "name", name,
-                            "email", email,
-                            "password", password,
-                            "title", title,
-                            "birth_date", birthDay,
-                            "birth_month", birthMonth,
-                            "birth_year", birthYear,
-                            "firstname", firstName,
-                            "lastname", lastName,
-                            "company", company,
-                            "address1", address1,
-                            "address2", address2,
-                            "country", country,
-                            "zipcode", zipcode,
-                            "state", state,
-                            "city", city,
-                            "mobile_number", mobileNumber
-                    )
-                    .post(Config.BASE_URL + Config.CREATE_ACCOUNT_ENDPOINT)
-                    .then()
-                    .extract().response();
-
-            String createMessage = createResponse.jsonPath().getString("message");
-            System.out.println("Create response for " + email + ": " + createResponse.getBody().asString());
-
-            // Fail early if the creation response is not as expected.
-            if (!("User created!".equals(createMessage) || "User already exists!".equals(createMessage))) {
-                fail(String.format("User creation failed for %s. Received response: %s", email, createMessage));
-            }
-        }
+    void createTestUsers() {
+        accounts = UserFixturePool.lease(Config.CREATE_USER_CSV_PATH, UserFixturePool.Access.READ);
     }
 
     /**
@@ -138,54 +86,38 @@ public class ValidLoginTest {
      */
     @Order(1)
     @ParameterizedTest(name = "{index} - Verify valid login for email: {0}")
-    @CsvFileSource(files = Config.VALID_LOGIN_CSV_PATH, numLinesToSkip = 1)
+    @CsvDataset(Config.VALID_LOGIN_CSV_PATH)
     @DisplayName("Verify login with valid credentials")
     void verifyLoginWithValidCredentials(String email, String password) {
-        response = given()
+        Response response = given()
                 .contentType("application/x-www-form-urlencoded")
                 .formParams("email", email, "password", password)
-                .post(Config.BASE_URL + Config.LOGIN_ENDPOINT)
+                .post(Config.LOGIN_ENDPOINT)
                 .then()
                 .extract().response();
-        System.out.println("Response Body for " + email + ":\n" + response.getBody().asString());
+        ApiLog.body(LOG, Config.LOGIN_ENDPOINT, () -> "Response for " + email, response);
 
         // Validate expected response for valid login
         assertThat("Expected response message: 'User exists!'",
-                response.jsonPath().getString("message"), equalTo(Config.USER_EXISTS_MESSAGE));
+                json(response).getString("message"), equalTo(Config.USER_EXISTS_MESSAGE));
         assertThat("Expected JSON response code 200!",
-                response.jsonPath().getString("responseCode"), equalTo(Config.EXPECTED_RESPONSE_CODE_200));
+                json(response).getString("responseCode"), equalTo(Config.EXPECTED_RESPONSE_CODE_200));
         assertThat("Expected HTTP status code 200!",
                 response.getStatusCode(), equalTo(Config.EXPECTED_STATUS_CODE));
     }
 
     /**
-     * <p><strong>Cleanup:</strong> After all tests, delete the test users using the creation CSV file
+     * <p><strong>Cleanup:</strong> After all tests, release the lease on the test users of the creation CSV file
      * (<code>Config.CREATE_USER_CSV_PATH</code>).</p>
      *
-     * <p>This ensures that the environment is reset for future test runs.</p>
+     * <p>The pool deletes the accounts once the whole suite has finished, which resets the environment for
+     * future test runs.</p>
      */
     @AfterAll
-    @DisplayName("Cleanup: Delete test users")
-    void cleanUpTestUsers() throws Exception {
-        // Read the CSV file with user creation data.
-        List<String> lines = Files.readAllLines(Paths.get(Config.CREATE_USER_CSV_PATH));
-        for (int i = 1; i < lines.size(); i++) {
-            String[] fields = lines.get(i).split(",");
-            String email = fields[1].trim();
-            String password = fields[2].trim();
-            Response deleteResponse = given()
-                    .log().all()
-                    .contentType("application/x-www-form-urlencoded")
-                    .formParams("email", email)
-                    .formParam("password", password)
-                    .delete(Config.BASE_URL + Config.DELETE_ACCOUNT_ENDPOINT)
-                    .then()
-                    .extract().response();
-            System.out.println("Delete response for " + email + ": " + deleteResponse.getBody().asString());
-            String deleteMsg = deleteResponse.jsonPath().getString("message");
-            if (!"Account deleted!".equals(deleteMsg)) {
-                System.err.println(String.format("Warning: Deletion of user %s did not succeed. Response: %s", email, deleteMsg));
-            }
+    @DisplayName("Cleanup: Release test users")
+    void cleanUpTestUsers() {
+        if (accounts != null) {
+            accounts.close();
         }
     }
 }
@@ -0,0 +1,83 @@
+package com.automationexercise.api.extension;
+
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.Cassette;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>CassetteExtension</h1>
+ *
+ * <p>Global extension that records or replays the whole suite with a {@link Cassette}:</p>
+ * <ul>
+ *   <li><code>-Dapi.cassette=record</code> sends every request as usual and, once the suite has finished,
+ *       writes all exchanges to the cassette file;</li>
+ *   <li><code>-Dapi.cassette=replay</code> answers every request from the cassette file, so the suite runs
+ *       without any network access.</li>
+ * </ul>
+ *
+ * <p>The file is <code>-Dapi.cassette.file</code> (default {@link Config#DEFAULT_CASSETTE_FILE}). Without
+ * <code>-Dapi.cassette</code> the extension does nothing. It is registered before
+ * {@link UserFixturePoolExtension}, so the fixture accounts created and deleted around the suite are recorded and
+ * replayed as well.</p>
+ */
+public class CassetteExtension implements BeforeAllCallback {
+
+    private static final Logger LOG = LogManager.getLogger(CassetteExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CassetteExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        String mode = System.getProperty(Config.CASSETTE_MODE_PROPERTY);
+        if (mode == null) {
+            return;
+        }
+        if (!Config.CASSETTE_RECORD.equals(mode) && !Config.CASSETTE_REPLAY.equals(mode)) {
+            throw new IllegalArgumentException(String.format("-D%s must be %s or %s, not %s",
+                    Config.CASSETTE_MODE_PROPERTY, Config.CASSETTE_RECORD, Config.CASSETTE_REPLAY, mode));
+        }
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Installation.class,
+                key -> new Installation(Config.CASSETTE_RECORD.equals(mode)), Installation.class);
+    }
+
+    static final class Installation implements ExtensionContext.Store.CloseableResource {
+
+        private final Path file = Cassette.file();
+        private final Cassette.Recorder recorder;
+        private final Cassette.Player player;
+
+        Installation(boolean record) {
+            recorder = record ? Cassette.recorder() : null;
+            player = record ? null : Cassette.load(file);
+            RestAssured.filters(filter());
+            if (player != null) {
+                LOG.info("Replaying {} recorded exchanges from {}", player.size(), file.toAbsolutePath());
+            }
+        }
+
+        private Filter filter() {
+            return recorder != null ? recorder : player;
+        }
+
+        @Override
+        public void close() {
+            List<Filter> remaining = new ArrayList<>(RestAssured.filters());
+            remaining.remove(filter());
+            RestAssured.replaceFiltersWith(remaining);
+            if (recorder != null) {
+                recorder.save(file);
+                LOG.info("Recorded {} exchanges to {}", recorder.size(), file.toAbsolutePath());
+            } else {
+                LOG.info("Replayed {} of {} recorded exchanges", player.served(), player.size());
+            }
+        }
+    }
+}
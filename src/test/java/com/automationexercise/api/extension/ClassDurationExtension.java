@@ -0,0 +1,79 @@
+package com.automationexercise.api.extension;
+
+import com.automationexercise.api.support.DurationHistory;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>ClassDurationExtension</h1>
+ *
+ * <p>Global extension that times every test class, from its first <code>@BeforeAll</code> to its last
+ * <code>@AfterAll</code>, and teaches the durations to the {@link DurationHistory}, which writes them out once
+ * the whole suite has finished. The next run then orders ({@link LongestFirstClassOrderer}) and shards
+ * ({@link ShardFilter}) with them. These timings are the history's only source, so nothing surefire reports
+ * afterwards is counted again.</p>
+ *
+ * <p>A class is only learned when at least one of its tests ran to success or failure. Classes whose tests were
+ * all disabled or aborted, e.g. by an assumption, take next to no time and would otherwise be weighted as if
+ * they did in the runs that enable them.</p>
+ */
+public class ClassDurationExtension implements BeforeAllCallback, AfterAllCallback, TestWatcher {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ClassDurationExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Save.class, key -> new Save(), Save.class);
+        context.getStore(NAMESPACE).put(Timing.class, new Timing(System.nanoTime()));
+    }
+
+    @Override
+    public void testSuccessful(ExtensionContext context) {
+        ran(context);
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        ran(context);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        Timing timing = context.getStore(NAMESPACE).remove(Timing.class, Timing.class);
+        if (timing != null && timing.ran && context.getTestClass().isPresent()) {
+            DurationHistory.get().learn(context.getTestClass().get().getName(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - timing.start));
+        }
+    }
+
+    /**
+     * Marks the class of a finished test as having run. The store lookup falls back to the enclosing class's
+     * context, where {@link #beforeAll(ExtensionContext)} put the timing.
+     */
+    private static void ran(ExtensionContext context) {
+        Timing timing = context.getStore(NAMESPACE).get(Timing.class, Timing.class);
+        if (timing != null) {
+            timing.ran = true;
+        }
+    }
+
+    private static final class Timing {
+        private final long start;
+        private volatile boolean ran;
+
+        private Timing(long start) {
+            this.start = start;
+        }
+    }
+
+    static final class Save implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            DurationHistory.get().save();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.automationexercise.api.extension;
+
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.EndpointMetrics;
+import com.automationexercise.api.support.LatencyBudgets;
+import com.automationexercise.api.support.MetricsExport;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>EndpointMetricsExtension</h1>
+ *
+ * <p>Global extension that records every request of the suite with the {@link EndpointMetrics} filter. Once
+ * the whole suite has finished it:</p>
+ * <ol>
+ *   <li>writes the metrics as Prometheus text and CSV with {@link MetricsExport};</li>
+ *   <li>checks the {@link LatencyBudgets} against the response times. The per-endpoint breakdown is logged at
+ *       info level; when a budget is exceeded it is logged at error level and the run fails, so a slow endpoint
+ *       breaks the build the same way a wrong response does.</li>
+ * </ol>
+ *
+ * <p><code>-Dapi.latency.budgets=report</code> logs the breakdown without failing the run and
+ * <code>-Dapi.latency.budgets=off</code> skips the check; the metrics are exported either way.</p>
+ */
+public class EndpointMetricsExtension implements BeforeAllCallback {
+
+    private static final Logger LOG = LogManager.getLogger(EndpointMetricsExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(EndpointMetricsExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Installation.class, key -> new Installation(), Installation.class);
+    }
+
+    static final class Installation implements ExtensionContext.Store.CloseableResource {
+
+        private final String mode = System.getProperty(Config.LATENCY_BUDGETS_MODE_PROPERTY, "enforce");
+        // Parsed up front so a malformed budget fails the run before any test has been sent
+        private final LatencyBudgets budgets = "off".equals(mode) ? null : LatencyBudgets.fromSystemProperties();
+
+        Installation() {
+            RestAssured.filters(EndpointMetrics.filter());
+        }
+
+        @Override
+        public void close() {
+            List<Filter> remaining = new ArrayList<>(RestAssured.filters());
+            remaining.remove(EndpointMetrics.filter());
+            RestAssured.replaceFiltersWith(remaining);
+
+            LOG.info("Request metrics written to {}", MetricsExport.write(EndpointMetrics.endpoints()).toAbsolutePath());
+            if (budgets == null) {
+                return;
+            }
+            LatencyBudgets.Evaluation evaluation = budgets.evaluate(EndpointMetrics.histograms());
+            if (evaluation.exceeded().isEmpty()) {
+                LOG.info(evaluation.report());
+                return;
+            }
+            LOG.error(evaluation.report());
+            if (!"report".equals(mode)) {
+                throw new AssertionError("Latency budgets exceeded:" + System.lineSeparator()
+                        + String.join(System.lineSeparator(), evaluation.exceeded()));
+            }
+        }
+    }
+}
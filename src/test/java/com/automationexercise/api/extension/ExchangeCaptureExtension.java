@@ -0,0 +1,95 @@
+package com.automationexercise.api.extension;
+
+import com.automationexercise.api.support.ExchangeRecorder;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>ExchangeCaptureExtension</h1>
+ *
+ * <p>Global extension that records every request of the suite with the {@link ExchangeRecorder} filter and,
+ * when a test fails, logs the exchanges that test sent (method, URI, parameters, status, time and body) at
+ * error level. Passing tests log nothing.</p>
+ *
+ * <p>Many tests only assert on a response their class fetched in <code>@BeforeAll</code>. When such a test
+ * fails, the exchanges its class sent before it are logged instead, counted from a mark taken when the class
+ * started. Exchanges are never taken from other classes: if the class ran on another thread than the test, or
+ * sent nothing either, no exchanges are logged.</p>
+ *
+ * <p>The filter is added to <code>RestAssured.filters()</code> once, before the first test class runs, and
+ * removed after the suite has finished.</p>
+ */
+public class ExchangeCaptureExtension implements BeforeAllCallback, BeforeTestExecutionCallback, TestWatcher {
+
+    private static final Logger LOG = LogManager.getLogger(ExchangeCaptureExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ExchangeCaptureExtension.class);
+    private static final String MARK = "mark";
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Installation.class, key -> new Installation(), Installation.class);
+        context.getStore(NAMESPACE).put(ClassMark.class, new ClassMark(Thread.currentThread(), ExchangeRecorder.mark()));
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(MARK, ExchangeRecorder.mark());
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        Long mark = context.getStore(NAMESPACE).get(MARK, Long.class);
+        if (mark == null) {
+            return;
+        }
+        String exchanges = ExchangeRecorder.describeBetween(mark, Long.MAX_VALUE);
+        if (!exchanges.isEmpty()) {
+            LOG.error("Exchanges of failed test {} {}:{}", context.getRequiredTestClass().getSimpleName(),
+                    context.getDisplayName(), exchanges);
+            return;
+        }
+        // The lookup falls back to the store of the test's class, where beforeAll put its mark
+        ClassMark classMark = context.getStore(NAMESPACE).get(ClassMark.class, ClassMark.class);
+        if (classMark != null && classMark.thread == Thread.currentThread()) {
+            exchanges = ExchangeRecorder.describeBetween(classMark.count, mark);
+        }
+        if (!exchanges.isEmpty()) {
+            LOG.error("Failed test {} {} sent no requests; exchanges of its class before it:{}",
+                    context.getRequiredTestClass().getSimpleName(), context.getDisplayName(), exchanges);
+        }
+    }
+
+    private static final class ClassMark {
+
+        private final Thread thread;
+        private final long count;
+
+        ClassMark(Thread thread, long count) {
+            this.thread = thread;
+            this.count = count;
+        }
+    }
+
+    static final class Installation implements ExtensionContext.Store.CloseableResource {
+
+        Installation() {
+            RestAssured.filters(ExchangeRecorder.filter());
+        }
+
+        @Override
+        public void close() {
+            List<Filter> remaining = new ArrayList<>(RestAssured.filters());
+            remaining.remove(ExchangeRecorder.filter());
+            RestAssured.replaceFiltersWith(remaining);
+        }
+    }
+}
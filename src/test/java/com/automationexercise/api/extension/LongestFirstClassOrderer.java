@@ -0,0 +1,47 @@
+package com.automationexercise.api.extension;
+
+import com.automationexercise.api.support.DurationHistory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * <h1>LongestFirstClassOrderer</h1>
+ *
+ * <p>Starts the slowest test classes first, so a long class such as <code>GetUserAccountTest</code> does not
+ * start last and keep the run going while every other worker is idle when classes run concurrently. Classes are
+ * ordered by their {@link DurationHistory#latestDurations() latest} expected duration, longest first. Classes
+ * without a recorded duration are started before all others, since they might be long, in their original order.
+ * The test logic is not changed in any way.</p>
+ *
+ * <p>On a cold start, without any history, the order JUnit discovered the classes in is kept. Durations are
+ * re-learned after every run by {@link ClassDurationExtension}, and the next run on the machine orders by them
+ * without the output being copied over the input history, which only the {@link ShardFilter} plans from.
+ * Configured as <code>junit.jupiter.testclass.order.default</code> in <code>junit-platform.properties</code>.</p>
+ */
+public class LongestFirstClassOrderer implements ClassOrderer {
+
+    private static final Logger LOG = LogManager.getLogger(LongestFirstClassOrderer.class);
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        Map<String, Long> durations = DurationHistory.get().latestDurations();
+        if (durations.isEmpty()) {
+            LOG.debug("No test class durations recorded yet, keeping the discovery order");
+            return;
+        }
+        // The sort is stable, so unknown classes keep their relative order
+        context.getClassDescriptors().sort(Comparator.comparingLong(
+                (ClassDescriptor descriptor) -> durations.getOrDefault(descriptor.getTestClass().getName(), Long.MAX_VALUE))
+                .reversed());
+        LOG.debug("Class order, longest first: {}", () -> context.getClassDescriptors().stream()
+                .map(descriptor -> descriptor.getTestClass().getSimpleName())
+                .collect(Collectors.joining(", ")));
+    }
+}
@@ -0,0 +1,45 @@
+package com.automationexercise.api.extension;
+
+import com.automationexercise.api.support.ApiLog;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>RequestLogExtension</h1>
+ *
+ * <p>Global extension that logs every request of the suite at trace level with the {@link ApiLog#requests()}
+ * filter: those of the tests as well as the fixture provisioning, and also requests answered by a cassette or
+ * the response cache. Nothing is formatted unless <code>-Dapi.log.level=trace</code>.</p>
+ *
+ * <p>The filter is added to <code>RestAssured.filters()</code> once, before the first test class runs, and
+ * removed after the suite has finished. It is listed before the cassette and cache extensions in
+ * <code>META-INF/services/org.junit.jupiter.api.extension.Extension</code>, so it runs before their filters.</p>
+ */
+public class RequestLogExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(RequestLogExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Installation.class, key -> new Installation(), Installation.class);
+    }
+
+    static final class Installation implements ExtensionContext.Store.CloseableResource {
+
+        Installation() {
+            RestAssured.filters(ApiLog.requests());
+        }
+
+        @Override
+        public void close() {
+            List<Filter> remaining = new ArrayList<>(RestAssured.filters());
+            remaining.remove(ApiLog.requests());
+            RestAssured.replaceFiltersWith(remaining);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.automationexercise.api.extension;
+
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.ResponseCache;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <h1>ResponseCacheExtension</h1>
+ *
+ * <p>Global extension that adds the {@link ResponseCache} filter to <code>RestAssured.filters()</code> before
+ * the first test class runs and removes it after the suite has finished, so the product and brand lists are
+ * fetched once for all classes. <code>-Dapi.cache=off</code> leaves it out. Its counters are logged by
+ * {@link TransportReportExtension}.</p>
+ */
+public class ResponseCacheExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ResponseCacheExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if ("off".equals(System.getProperty(Config.CACHE_MODE_PROPERTY))) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Installation.class, key -> new Installation(), Installation.class);
+    }
+
+    static final class Installation implements ExtensionContext.Store.CloseableResource {
+
+        Installation() {
+            RestAssured.filters(ResponseCache.filter());
+        }
+
+        @Override
+        public void close() {
+            List<Filter> remaining = new ArrayList<>(RestAssured.filters());
+            remaining.remove(ResponseCache.filter());
+            RestAssured.replaceFiltersWith(remaining);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.automationexercise.api.extension;
+
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.DurationHistory;
+import com.automationexercise.api.support.ShardPlan;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <h1>ShardFilter</h1>
+ *
+ * <p>Runs one shard of the suite per CI node. With <code>-Dapi.shard.count=K</code> the test classes are split
+ * into K shards of near-equal expected duration by a {@link ShardPlan} over the {@link DurationHistory}, and
+ * only the classes of shard <code>-Dapi.shard.index</code> (1 to K) are kept:</p>
+ * <pre>
+ * mvn test -Dapi.shard.index=1 -Dapi.shard.count=3
+ * </pre>
+ *
+ * <p>The plan is made once per JVM from the input history alone, because surefire discovers classes one at a
+ * time while scanning the classpath; classes that no longer exist are left out of it. The run never writes that
+ * file (it learns into <code>-Dapi.durations.output</code>), so nodes given the same input always agree on the
+ * plan. Publish the outputs of a finished run as the input of the next one, not while its shards still run.</p>
+ *
+ * <p>Without <code>-Dapi.shard.count</code>, or with a count of 1, every class runs. Registered through
+ * <code>META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter</code>.</p>
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+
+    private static final Logger LOG = LogManager.getLogger(ShardFilter.class);
+
+    private static ShardPlan plan;
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        int count = Integer.getInteger(Config.SHARD_COUNT_PROPERTY, 1);
+        if (count <= 1) {
+            return FilterResult.included("not sharded");
+        }
+        int index = Integer.getInteger(Config.SHARD_INDEX_PROPERTY, 0);
+        if (index < 1 || index > count) {
+            throw new IllegalArgumentException(String.format("-D%s must be between 1 and %d, not %s",
+                    Config.SHARD_INDEX_PROPERTY, count, System.getProperty(Config.SHARD_INDEX_PROPERTY)));
+        }
+        String className = className(descriptor.getSource().orElse(null));
+        if (className == null) {
+            return FilterResult.included("not a test class");
+        }
+        int shard = plan(DurationHistory.get(), count, index).shardOf(className) + 1;
+        return shard == index
+                ? FilterResult.included("in shard " + index + " of " + count)
+                : FilterResult.excluded("in shard " + shard + " of " + count);
+    }
+
+    private static synchronized ShardPlan plan(DurationHistory history, int count, int index) {
+        if (plan == null) {
+            Map<String, Long> durations = new TreeMap<>();
+            history.durations().forEach((className, millis) -> {
+                if (exists(className)) {
+                    durations.put(className, millis);
+                }
+            });
+            plan = ShardPlan.of(durations, count);
+            LOG.info("Running shard {} of {} (durations of {} classes from {}):{}", index, count,
+                    durations.size(), history.file(), plan);
+        }
+        return plan;
+    }
+
+    private static boolean exists(String className) {
+        try {
+            Class.forName(className, false, Thread.currentThread().getContextClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static String className(TestSource source) {
+        if (source instanceof ClassSource) {
+            return ((ClassSource) source).getClassName();
+        }
+        if (source instanceof MethodSource) {
+            return ((MethodSource) source).getClassName();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.automationexercise.api.extension;
+
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.stub.StubServer;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * <h1>StubServerExtension</h1>
+ *
+ * <p>Global extension (registered through <code>META-INF/services</code> and enabled in
+ * <code>junit-platform.properties</code>) that points every test class at the embedded {@link StubServer}
+ * when the run is started with <code>-Dapi.target=stub</code>. Without the switch it does nothing and the
+ * suite keeps running against {@link Config#BASE_URL}.</p>
+ *
+ * <p>The stub is started once, on an ephemeral port, before the first test class and is kept in the root
+ * extension store so it is shared by all classes and stopped when the whole suite has finished.</p>
+ */
+public class StubServerExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(StubServerExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (!Config.isStubTarget()) {
+            return;
+        }
+        context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(RunningStub.class, key -> RunningStub.start(), RunningStub.class);
+    }
+
+    /**
+     * Owns the stub for the duration of the suite and publishes its address as <code>api.baseUrl</code>.
+     */
+    static final class RunningStub implements ExtensionContext.Store.CloseableResource {
+
+        private final StubServer server;
+
+        private RunningStub(StubServer server) {
+            this.server = server;
+        }
+
+        static RunningStub start() {
+            try {
+                StubServer server = StubServer.start(0);
+                System.setProperty(Config.BASE_URL_PROPERTY, server.baseUrl());
+                return new RunningStub(server);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start the API stub", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            System.clearProperty(Config.BASE_URL_PROPERTY);
+            server.close();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.automationexercise.api.extension;
+
+import com.automationexercise.api.client.ApiClient;
+import com.automationexercise.api.support.CompiledPaths;
+import com.automationexercise.api.support.JsonBody;
+import com.automationexercise.api.support.ResponseCache;
+import com.automationexercise.api.support.StartupProbe;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * <h1>TransportReportExtension</h1>
+ *
+ * <p>Global extension that logs the {@link ApiClient} transport counters once the whole suite has finished,
+ * e.g. <code>HTTP transport: 113 requests sent over 4 connections opened (28.3 requests per connection)</code>.
+ * A ratio close to 1.0 means connections are not being reused.</p>
+ *
+ * <p>It also logs the {@link JsonBody} parse counters, where every response body should be parsed exactly once,
+ * the {@link CompiledPaths} cache hit ratio and compile time, and the {@link ResponseCache} counters. The lines
+ * are logged at info level, so they are part of every run.</p>
+ */
+public class TransportReportExtension implements BeforeAllCallback {
+
+    private static final Logger LOG = LogManager.getLogger(TransportReportExtension.class);
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(TransportReportExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Report.class, key -> new Report(), Report.class);
+    }
+
+    static final class Report implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            LOG.info(ApiClient.stats());
+            LOG.info(JsonBody.stats());
+            LOG.info(CompiledPaths.stats());
+            LOG.info(ResponseCache.stats());
+            LOG.info(StartupProbe.report());
+        }
+    }
+}
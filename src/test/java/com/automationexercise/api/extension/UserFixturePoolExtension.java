@@ -0,0 +1,29 @@
+package com.automationexercise.api.extension;
+
+import com.automationexercise.api.support.UserFixturePool;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * <h1>UserFixturePoolExtension</h1>
+ *
+ * <p>Global extension that tears the {@link UserFixturePool} down once the whole suite has finished, deleting
+ * every account the user test classes leased during the run. Registered after {@link StubServerExtension} so
+ * the teardown requests still reach the stub in offline runs.</p>
+ */
+public class UserFixturePoolExtension implements BeforeAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(UserFixturePoolExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(Teardown.class, key -> new Teardown(), Teardown.class);
+    }
+
+    static final class Teardown implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            UserFixturePool.tearDown();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * <h1>ApiLog</h1>
+ *
+ * <p>Logging of request and response bodies through Log4j2. Loggers are asynchronous (see
+ * <code>log4j2.component.properties</code>), and every message is built lazily: at the default
+ * <code>info</code> level a body is never converted to a string or copied, so a normal run pays one level check
+ * per call.</p>
+ *
+ * <ul>
+ *   <li><code>-Dapi.log.level=debug</code> logs response bodies, truncated to the limit of their endpoint.</li>
+ *   <li><code>-Dapi.log.level=trace</code> logs full bodies and every request (method, URI and parameters).</li>
+ * </ul>
+ *
+ * <p>The limit is <code>-Dapi.log.bodyLimit</code> (default {@link Config#DEFAULT_LOG_BODY_LIMIT} characters),
+ * {@link Config#DEFAULT_LIST_LOG_BODY_LIMIT} for the product and brand lists, and can be set per endpoint with
+ * <code>-Dapi.log.bodyLimit.&lt;endpoint&gt;</code>, e.g. <code>-Dapi.log.bodyLimit./api/productsList=2000</code>.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * private static final Logger LOG = LogManager.getLogger(GetBrandsListTest.class);
+ * ApiLog.body(LOG, Config.BRANDS_ENDPOINT, "BrandsList response", response);
+ * </pre>
+ */
+public final class ApiLog {
+
+    private static final Logger REQUESTS = LogManager.getLogger("com.automationexercise.api.requests");
+
+    private static final Map<String, Integer> DEFAULT_LIMITS = Map.of(
+            Config.PRODUCTS_ENDPOINT, Config.DEFAULT_LIST_LOG_BODY_LIMIT,
+            Config.BRANDS_ENDPOINT, Config.DEFAULT_LIST_LOG_BODY_LIMIT);
+    private static final int DEFAULT_LIMIT = Integer.getInteger(Config.LOG_BODY_LIMIT_PROPERTY, Config.DEFAULT_LOG_BODY_LIMIT);
+    private static final ConcurrentMap<String, Integer> LIMITS = new ConcurrentHashMap<>();
+
+    private static final Filter REQUEST_FILTER = (request, response, context) -> {
+        REQUESTS.trace("{} {} {}", request::getMethod, request::getURI, request::getFormParams);
+        return context.next(request, response);
+    };
+
+    private ApiLog() {
+    }
+
+    /**
+     * Logs the body of <code>response</code>, received from <code>endpoint</code>, at debug level.
+     */
+    public static void body(Logger log, String endpoint, String label, Response response) {
+        body(log, endpoint, () -> label, response);
+    }
+
+    /**
+     * As {@link #body(Logger, String, String, Response)}, with a label that is only built when the body is logged.
+     */
+    public static void body(Logger log, String endpoint, Supplier<String> label, Response response) {
+        if (log.isDebugEnabled()) {
+            log.debug("{}:\n{}", label::get, () -> truncate(endpoint, response.asString(), log));
+        }
+    }
+
+    /**
+     * A filter that logs each request at trace level, in place of <code>given().log().all()</code>, which prints
+     * every request in full whatever the configured level. Installed for the whole suite by
+     * {@link com.automationexercise.api.extension.RequestLogExtension}.
+     */
+    public static Filter requests() {
+        return REQUEST_FILTER;
+    }
+
+    private static String truncate(String endpoint, String body, Logger log) {
+        int limit = limit(endpoint);
+        if (log.isTraceEnabled() || body.length() <= limit) {
+            return body;
+        }
+        return body.substring(0, limit) + "... (" + (body.length() - limit) + " more characters)";
+    }
+
+    private static int limit(String endpoint) {
+        return LIMITS.computeIfAbsent(endpoint, key -> Integer.getInteger(
+                Config.LOG_BODY_LIMIT_PROPERTY_PREFIX + key, DEFAULT_LIMITS.getOrDefault(key, DEFAULT_LIMIT)));
+    }
+}
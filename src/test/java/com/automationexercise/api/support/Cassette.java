@@ -0,0 +1,350 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h1>Cassette</h1>
+ *
+ * <p>Records the HTTP exchanges of a run to a file and replays them later without any network access. Each
+ * exchange is stored with its request key (method, path, sorted parameters and body), status
+ * line, every response header (<code>server</code> and <code>content-type</code> included) and body.</p>
+ *
+ * <ul>
+ *   <li>{@link #recorder()} returns a filter that lets requests through and keeps a copy of every exchange
+ *       until {@link Recorder#save(Path)} writes them out.</li>
+ *   <li>{@link #load(Path)} memory-maps a cassette and returns a filter that answers every request from it.
+ *       Requests are looked up by a 64-bit hash of their key in a hash map, so the lookup is O(1). Bodies stay in
+ *       the mapped file until a response is served.</li>
+ * </ul>
+ *
+ * <p>The API is stateful: the same login is answered differently before and after the account is deleted. So
+ * identical requests are replayed in the order they were recorded, and the last recording is repeated once
+ * they run out. Replay is therefore deterministic as long as the suite sends the same requests, which means the
+ * synthetic data seed and the CSV files must not change between recording and replay. A request that was never
+ * recorded fails with its key and the cassette path.</p>
+ *
+ * <p>File layout (big-endian): the magic <code>APICASS1</code> and the exchange count, then per exchange the key
+ * hash, the key, status code, status line, header count, each header's name and value, and the body. Strings and
+ * the body are prefixed with their length in bytes.</p>
+ */
+public final class Cassette {
+
+    private static final byte[] MAGIC = "APICASS1".getBytes(StandardCharsets.US_ASCII);
+
+    // Recording and replay wrap the network call itself, after every other filter has run
+    private static final int ORDER = OrderedFilter.LOWEST_PRECEDENCE;
+
+    private Cassette() {
+    }
+
+    /**
+     * The cassette file configured with <code>-Dapi.cassette.file</code>.
+     */
+    public static Path file() {
+        return Paths.get(System.getProperty(Config.CASSETTE_FILE_PROPERTY, Config.DEFAULT_CASSETTE_FILE));
+    }
+
+    public static Recorder recorder() {
+        return new Recorder();
+    }
+
+    /**
+     * Memory-maps <code>file</code> and indexes its exchanges; the bodies are not read.
+     */
+    public static Player load(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            byte[] magic = new byte[MAGIC.length];
+            buffer.get(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IllegalStateException(file + " is not a cassette");
+            }
+            int count = buffer.getInt();
+            Map<Long, Track> tracks = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                long hash = buffer.getLong();
+                String key = readString(buffer);
+                int status = buffer.getInt();
+                String statusLine = readString(buffer);
+                int headerCount = buffer.getInt();
+                List<Header> headers = new ArrayList<>(headerCount);
+                for (int h = 0; h < headerCount; h++) {
+                    headers.add(new Header(readString(buffer), readString(buffer)));
+                }
+                int bodyLength = buffer.getInt();
+                Recording recording = new Recording(status, statusLine, new Headers(headers), buffer.position(), bodyLength);
+                buffer.position(buffer.position() + bodyLength);
+                Track track = tracks.get(hash);
+                while (track != null && !track.key.equals(key)) {
+                    track = track.collision;
+                }
+                if (track == null) {
+                    track = new Track(key, tracks.get(hash));
+                    tracks.put(hash, track);
+                }
+                track.recordings.add(recording);
+            }
+            return new Player(file, buffer, tracks, count);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read cassette " + file.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * The request key: method, path without host, query, form and plain (<code>param()</code>) parameters
+     * sorted by name, and the body.
+     */
+    static String key(FilterableRequestSpecification request) {
+        StringBuilder key = new StringBuilder(request.getMethod()).append(' ').append(request.getUserDefinedPath());
+        new TreeMap<>(request.getQueryParams()).forEach((name, value) -> key.append('\n').append("query ")
+                .append(name).append('=').append(value));
+        new TreeMap<>(request.getFormParams()).forEach((name, value) -> key.append('\n').append("form ")
+                .append(name).append('=').append(value));
+        new TreeMap<>(request.getRequestParams()).forEach((name, value) -> key.append('\n').append("param ")
+                .append(name).append('=').append(value));
+        Object body = request.getBody();
+        if (body != null) {
+            key.append('\n').append("body ").append(body instanceof byte[]
+                    ? new String((byte[]) body, StandardCharsets.UTF_8) : body.toString());
+        }
+        return key.toString();
+    }
+
+    // 64-bit FNV-1a over the UTF-8 key
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Lets every request through and keeps a copy of the exchange.
+     */
+    public static final class Recorder implements OrderedFilter {
+
+        private final List<Exchange> exchanges = new ArrayList<>();
+
+        private Recorder() {
+        }
+
+        @Override
+        public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+                               FilterContext context) {
+            String key = key(request);
+            Response response = context.next(request, responseSpec);
+            Exchange exchange = new Exchange(key, response.getStatusCode(), response.getStatusLine(),
+                    response.getHeaders(), response.asByteArray());
+            synchronized (exchanges) {
+                exchanges.add(exchange);
+            }
+            return response;
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+
+        public int size() {
+            synchronized (exchanges) {
+                return exchanges.size();
+            }
+        }
+
+        /**
+         * Writes the exchanges recorded so far to <code>file</code>, replacing it atomically.
+         */
+        public void save(Path file) {
+            List<Exchange> snapshot;
+            synchronized (exchanges) {
+                snapshot = new ArrayList<>(exchanges);
+            }
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                    out.write(MAGIC);
+                    out.writeInt(snapshot.size());
+                    for (Exchange exchange : snapshot) {
+                        out.writeLong(hash(exchange.key));
+                        writeString(out, exchange.key);
+                        out.writeInt(exchange.status);
+                        writeString(out, exchange.statusLine);
+                        out.writeInt(exchange.headers.size());
+                        for (Header header : exchange.headers) {
+                            writeString(out, header.getName());
+                            writeString(out, header.getValue());
+                        }
+                        out.writeInt(exchange.body.length);
+                        out.write(exchange.body);
+                    }
+                }
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write cassette " + file.toAbsolutePath(), e);
+            }
+        }
+    }
+
+    /**
+     * Answers every request from a loaded cassette; nothing is sent.
+     */
+    public static final class Player implements OrderedFilter {
+
+        private final Path file;
+        private final ByteBuffer bodies;
+        private final Map<Long, Track> tracks;
+        private final int size;
+        private final AtomicLong served = new AtomicLong();
+
+        private Player(Path file, ByteBuffer bodies, Map<Long, Track> tracks, int size) {
+            this.file = file;
+            this.bodies = bodies;
+            this.tracks = tracks;
+            this.size = size;
+        }
+
+        @Override
+        public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+                               FilterContext context) {
+            String key = key(request);
+            Track track = tracks.get(hash(key));
+            while (track != null && !track.key.equals(key)) {
+                track = track.collision;
+            }
+            if (track == null) {
+                throw new AssertionError(String.format("No exchange recorded in %s for request:%n%s",
+                        file.toAbsolutePath(), key));
+            }
+            Recording recording = track.next();
+            byte[] body = new byte[recording.bodyLength];
+            bodies.duplicate().position(recording.bodyOffset).get(body);
+            served.incrementAndGet();
+            ResponseBuilder response = new ResponseBuilder()
+                    .setStatusCode(recording.status)
+                    .setStatusLine(recording.statusLine)
+                    .setHeaders(recording.headers)
+                    .setBody(body);
+            String contentType = recording.headers.getValue("content-type");
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            return response.build();
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDER;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long served() {
+            return served.get();
+        }
+    }
+
+    private static final class Exchange {
+
+        private final String key;
+        private final int status;
+        private final String statusLine;
+        private final Headers headers;
+        private final byte[] body;
+
+        Exchange(String key, int status, String statusLine, Headers headers, byte[] body) {
+            this.key = key;
+            this.status = status;
+            this.statusLine = statusLine;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    /**
+     * The recordings of one request key, served in order; collisions of the 64-bit hash are chained.
+     */
+    private static final class Track {
+
+        private final String key;
+        private final Track collision;
+        private final List<Recording> recordings = new ArrayList<>(1);
+        private final AtomicInteger next = new AtomicInteger();
+
+        Track(String key, Track collision) {
+            this.key = key;
+            this.collision = collision;
+        }
+
+        Recording next() {
+            int index = next.getAndIncrement();
+            return recordings.get(Math.min(index, recordings.size() - 1));
+        }
+    }
+
+    private static final class Recording {
+
+        private final int status;
+        private final String statusLine;
+        private final Headers headers;
+        private final int bodyOffset;
+        private final int bodyLength;
+
+        Recording(int status, String statusLine, Headers headers, int bodyOffset, int bodyLength) {
+            this.status = status;
+            this.statusLine = statusLine;
+            this.headers = headers;
+            this.bodyOffset = bodyOffset;
+            this.bodyLength = bodyLength;
+        }
+    }
+}
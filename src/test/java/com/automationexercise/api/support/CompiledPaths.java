@@ -0,0 +1,178 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
+import org.codehaus.groovy.runtime.InvokerHelper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h1>CompiledPaths</h1>
+ *
+ * <p>Evaluates GPath expressions against parsed JSON, compiling each distinct expression only once.
+ * RestAssured's <code>JsonPath</code> generates and loads a new Groovy script class on every
+ * <code>get(path)</code>, even for a path it has seen before; here the compiled class is cached and every
+ * evaluation just runs a new instance of it.</p>
+ *
+ * <p>Values that change per row are bound as parameters instead of being concatenated into the expression,
+ * so <code>products.find { it.id == id }.name</code> compiles once for all ids:</p>
+ * <pre>
+ * json(response).get("products.find { it.id == id }.name", Map.of("id", 2));
+ * </pre>
+ *
+ * <p>The cache keeps at most <code>-Dapi.paths.cacheSize</code> expressions (default
+ * {@link Config#DEFAULT_PATH_CACHE_SIZE}) and evicts the least recently used one beyond that. Each expression is
+ * compiled by its own class loader, so an evicted expression's class can be unloaded and metaspace stays bounded
+ * on long runs. {@link #stats()} reports the hit ratio and the time spent compiling.</p>
+ */
+public final class CompiledPaths {
+
+    // The parsed document is bound under this name; expressions are evaluated relative to it.
+    private static final String ROOT = "restAssuredJsonRootObject";
+
+    private static final int MAX_SIZE = Integer.getInteger(Config.PATH_CACHE_SIZE_PROPERTY, Config.DEFAULT_PATH_CACHE_SIZE);
+
+    private static final Map<String, FutureTask<Class<? extends Script>>> CACHE =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, FutureTask<Class<? extends Script>>> eldest) {
+                    if (size() > MAX_SIZE) {
+                        EVICTIONS.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+    private static final AtomicLong COMPILE_NANOS = new AtomicLong();
+
+    private CompiledPaths() {
+    }
+
+    /**
+     * Evaluates <code>path</code> against <code>root</code>, with <code>params</code> bound as variables.
+     * An empty path returns the root itself.
+     */
+    public static Object evaluate(String path, Object root, Map<String, ?> params) {
+        if (path.isEmpty()) {
+            return root;
+        }
+        Binding binding = new Binding();
+        params.forEach(binding::setVariable);
+        binding.setVariable(ROOT, root);
+        return InvokerHelper.createScript(compiled(path), binding).run();
+    }
+
+    /**
+     * Returns the compiled script class for <code>path</code>. Concurrent callers of a new expression wait for
+     * a single compilation instead of compiling it each.
+     */
+    private static Class<? extends Script> compiled(String path) {
+        FutureTask<Class<? extends Script>> task;
+        boolean compileHere = false;
+        synchronized (CACHE) {
+            task = CACHE.get(path);
+            if (task == null) {
+                task = new FutureTask<>(() -> compile(path));
+                CACHE.put(path, task);
+                compileHere = true;
+            }
+        }
+        if (compileHere) {
+            MISSES.incrementAndGet();
+            task.run();
+        } else {
+            HITS.incrementAndGet();
+        }
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            synchronized (CACHE) {
+                CACHE.remove(path, task);
+            }
+            throw new IllegalArgumentException("Invalid path expression: " + path, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while compiling " + path, e);
+        }
+    }
+
+    private static Class<? extends Script> compile(String path) {
+        long start = System.nanoTime();
+        try {
+            // A path starting with an index ("[0].id") applies to the root directly
+            String source = ROOT + (path.startsWith("[") ? "" : ".") + path;
+            return new GroovyShell().parse(source).getClass();
+        } finally {
+            COMPILE_NANOS.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    public static Stats stats() {
+        int size;
+        synchronized (CACHE) {
+            size = CACHE.size();
+        }
+        return new Stats(HITS.get(), MISSES.get(), EVICTIONS.get(), COMPILE_NANOS.get(), size);
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     */
+    public static final class Stats {
+
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long compileNanos;
+        private final int size;
+
+        Stats(long hits, long misses, long evictions, long compileNanos, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.compileNanos = compileNanos;
+            this.size = size;
+        }
+
+        public long hits() {
+            return hits;
+        }
+
+        public long misses() {
+            return misses;
+        }
+
+        public long evictions() {
+            return evictions;
+        }
+
+        public long compileNanos() {
+            return compileNanos;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0.0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Path cache: %d hits, %d misses (%.1f%% hit ratio), %d evictions, %d expressions cached, "
+                            + "%d ms compiling", hits, misses, hitRatio() * 100, evictions, size, compileNanos / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.automationexercise.api.support;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <h1>CsvDataset</h1>
+ *
+ * <p>Drop-in replacement for <code>@CsvFileSource(files = ..., numLinesToSkip = 1)</code>. Each data row of the
+ * file becomes one invocation with one argument per column, converted to the parameter types as usual; empty
+ * unquoted cells are passed as <code>null</code>.</p>
+ *
+ * <p>Unlike <code>@CsvFileSource</code>, which re-opens and re-tokenizes the file for every method, the file is
+ * parsed once per JVM by {@link Datasets} and every method and class using it is served from the same table.
+ * Files larger than <code>-Dapi.datasets.maxCachedBytes</code> are streamed row by row instead.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * &#64;ParameterizedTest(name = "{index} - Verify login for email: {0}")
+ * &#64;CsvDataset(Config.VALID_LOGIN_CSV_PATH)
+ * void verifyLogin(String email, String password) { ... }
+ * </pre>
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(CsvDatasetProvider.class)
+public @interface CsvDataset {
+
+    /**
+     * Path of the CSV file, relative to the project directory; the first line is the header.
+     */
+    String value();
+}
@@ -0,0 +1,29 @@
+package com.automationexercise.api.support;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+import java.util.stream.Stream;
+
+/**
+ * <h1>CsvDatasetProvider</h1>
+ *
+ * <p>Supplies the rows of a {@link CsvDataset} file from {@link Datasets#records(String)}. Each invocation gets
+ * its own copy of the row, so the shared table cannot be modified by a test.</p>
+ */
+class CsvDatasetProvider implements ArgumentsProvider, AnnotationConsumer<CsvDataset> {
+
+    private String csvPath;
+
+    @Override
+    public void accept(CsvDataset annotation) {
+        this.csvPath = annotation.value();
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+        return Datasets.records(csvPath).map(row -> Arguments.of((Object[]) row));
+    }
+}
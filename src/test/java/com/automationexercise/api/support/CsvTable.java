@@ -0,0 +1,289 @@
+package com.automationexercise.api.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.UnaryOperator;
+
+/**
+ * <h1>CsvTable</h1>
+ *
+ * <p>An immutable CSV file: the header and every data row as an array of cells. Obtain tables through
+ * {@link Datasets#table(String)}, which parses each file once per JVM.</p>
+ *
+ * <p>The parser ({@link Records}) reads the file as a stream of characters and follows RFC 4180: fields may be
+ * quoted, quoted fields may contain commas, line breaks and doubled quotes (<code>""</code>), and lines may end
+ * in LF or CRLF. A leading UTF-8 byte order mark is dropped, blank lines are skipped and unquoted cells are
+ * trimmed, as <code>@CsvFileSource</code> does. Within a table, equal cell values share one <code>String</code>
+ * instance.</p>
+ */
+public final class CsvTable {
+
+    private static final char BOM = '\uFEFF';
+
+    private final List<String> header;
+    private final List<String[]> rows;
+    private volatile List<Map<String, String>> maps;
+
+    private CsvTable(List<String> header, List<String[]> rows) {
+        this.header = header;
+        this.rows = rows;
+    }
+
+    /**
+     * Parses a CSV whose first record is the header.
+     */
+    public static CsvTable parse(BufferedReader reader) throws IOException {
+        Records records = new Records(reader, true);
+        String[] header = records.readRecord();
+        if (header == null) {
+            return new CsvTable(List.of(), List.of());
+        }
+        List<String[]> rows = new ArrayList<>();
+        String[] row;
+        while ((row = records.readRecord()) != null) {
+            rows.add(row);
+        }
+        return new CsvTable(headerOf(header), Collections.unmodifiableList(rows));
+    }
+
+    private static List<String> headerOf(String[] record) {
+        List<String> header = new ArrayList<>(record.length);
+        for (String name : record) {
+            header.add(name == null ? "" : name);
+        }
+        return Collections.unmodifiableList(header);
+    }
+
+    public List<String> header() {
+        return header;
+    }
+
+    /**
+     * A copy of this table with every cell of column <code>name</code> passed through <code>mapper</code>, or this
+     * table if it has no such column. <code>null</code> cells are passed as well.
+     */
+    public CsvTable mapColumn(String name, UnaryOperator<String> mapper) {
+        int column = header.indexOf(name);
+        if (column < 0) {
+            return this;
+        }
+        List<String[]> mapped = new ArrayList<>(rows.size());
+        for (String[] row : rows) {
+            mapped.add(map(row.clone(), column, mapper));
+        }
+        return new CsvTable(header, Collections.unmodifiableList(mapped));
+    }
+
+    private static String[] map(String[] row, int column, UnaryOperator<String> mapper) {
+        if (column >= 0 && column < row.length) {
+            row[column] = mapper.apply(row[column]);
+        }
+        return row;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * The cell of data row <code>index</code> (0 is the first row after the header). Empty and missing cells
+     * read as empty strings.
+     */
+    public String cell(int index, int column) {
+        String[] row = rows.get(index);
+        return column < row.length && row[column] != null ? row[column] : "";
+    }
+
+    /**
+     * The cells of data row <code>index</code> as <code>@CsvFileSource</code> passes them to a test: empty
+     * unquoted cells are <code>null</code>, quoted empty cells are empty strings. The array is a copy.
+     */
+    public String[] record(int index) {
+        return rows.get(index).clone();
+    }
+
+    /**
+     * Every data row keyed by column name, in file order. Built on first use and shared afterwards.
+     */
+    public List<Map<String, String>> rows() {
+        List<Map<String, String>> result = maps;
+        if (result == null) {
+            List<Map<String, String>> built = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Map<String, String> row = new LinkedHashMap<>();
+                for (int column = 0; column < header.size(); column++) {
+                    row.put(header.get(column), cell(i, column));
+                }
+                built.add(Collections.unmodifiableMap(row));
+            }
+            result = Collections.unmodifiableList(built);
+            maps = result;
+        }
+        return result;
+    }
+
+    /**
+     * Reads the data rows of a CSV one at a time, for files that are not kept in memory, passing the cells of
+     * column <code>name</code> through <code>mapper</code> like {@link #mapColumn(String, UnaryOperator)}. The
+     * header row is consumed when the iterator is created; the caller closes <code>reader</code>.
+     */
+    static Iterator<String[]> iterate(BufferedReader reader, String name, UnaryOperator<String> mapper) throws IOException {
+        Records records = new Records(reader, false);
+        String[] header = records.readRecord();
+        int column = header == null ? -1 : headerOf(header).indexOf(name);
+        return new RecordIterator(records, column, mapper);
+    }
+
+    /**
+     * The character-level parser: one call to {@link #readRecord()} returns the next non-blank record.
+     */
+    private static final class Records {
+
+        private final BufferedReader reader;
+        // Cells are only interned for tables kept in memory; a streamed file would grow the map without bound
+        private final Map<String, String> interned;
+        private final List<String> record = new ArrayList<>();
+        private final StringBuilder cell = new StringBuilder();
+        private boolean first = true;
+
+        Records(BufferedReader reader, boolean intern) {
+            this.reader = reader;
+            this.interned = intern ? new HashMap<>() : null;
+        }
+
+        String[] readRecord() throws IOException {
+            boolean quoted = false;
+            boolean cellWasQuoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                char ch = (char) c;
+                if (first) {
+                    first = false;
+                    if (ch == BOM) {
+                        continue;
+                    }
+                }
+                any = true;
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            cell.append('"');
+                        } else {
+                            quoted = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        cell.append(ch);
+                    }
+                } else if (ch == '"' && isBlank(cell)) {
+                    quoted = true;
+                    cellWasQuoted = true;
+                    cell.setLength(0);
+                } else if (ch == ',') {
+                    record.add(finish(cellWasQuoted));
+                    cellWasQuoted = false;
+                } else if (ch == '\n' || ch == '\r') {
+                    if (ch == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    String[] result = endRecord(cellWasQuoted);
+                    if (result != null) {
+                        return result;
+                    }
+                    cellWasQuoted = false;
+                    any = false;
+                } else if (!(cellWasQuoted && (ch == ' ' || ch == '\t'))) {
+                    // Whitespace between a closing quote and the delimiter is not part of the value
+                    cell.append(ch);
+                }
+            }
+            if (quoted) {
+                throw new IOException("Unterminated quoted field in CSV");
+            }
+            return any ? endRecord(cellWasQuoted) : null;
+        }
+
+        /**
+         * Completes the current record; returns <code>null</code> for a blank line.
+         */
+        private String[] endRecord(boolean cellWasQuoted) {
+            record.add(finish(cellWasQuoted));
+            String[] result = record.size() == 1 && record.get(0) == null ? null : record.toArray(new String[0]);
+            record.clear();
+            return result;
+        }
+
+        private String finish(boolean wasQuoted) {
+            String value = wasQuoted ? cell.toString() : cell.toString().trim();
+            cell.setLength(0);
+            if (value.isEmpty() && !wasQuoted) {
+                return null;
+            }
+            return interned == null ? value : interned.computeIfAbsent(value, v -> v);
+        }
+
+        private static boolean isBlank(StringBuilder text) {
+            for (int i = 0; i < text.length(); i++) {
+                if (!Character.isWhitespace(text.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class RecordIterator implements Iterator<String[]> {
+
+        private final Records records;
+        private final int column;
+        private final UnaryOperator<String> mapper;
+        private String[] next;
+        private boolean done;
+
+        RecordIterator(Records records, int column, UnaryOperator<String> mapper) {
+            this.records = records;
+            this.column = column;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                try {
+                    next = records.readRecord();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                done = next == null;
+            }
+            return next != null;
+        }
+
+        @Override
+        public String[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String[] result = next;
+            next = null;
+            return map(result, column, mapper);
+        }
+    }
+}
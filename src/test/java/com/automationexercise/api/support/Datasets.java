@@ -0,0 +1,133 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <h1>Datasets</h1>
+ *
+ * <p>JVM-wide loader for the CSV files under <code>src/test/resources</code>. Each file is read and parsed
+ * once, by whichever class needs it first, and every later caller (<code>@BeforeAll</code> setup, the fixture
+ * pool, parameterized sources, suite teardown) gets the same immutable result. Concurrent first callers wait
+ * for a single parse. Parameterized tests read these tables through {@link CsvDataset}.</p>
+ *
+ * <p>Files are parsed by {@link CsvTable}, which handles quoted fields and the UTF-8 byte order mark most of
+ * our CSVs start with. In {@link #rows(String)} and {@link #users(String)} empty cells read as empty strings,
+ * never <code>null</code>.</p>
+ *
+ * <p>Every cell of an <code>Email</code> column is scoped to the run with {@link FixtureNamespace#email(String)}
+ * as the file is loaded, so callers only ever see the rewritten addresses.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * List&lt;UserRecord&gt; users = Datasets.users(Config.CREATE_USER_CSV_PATH);
+ * List&lt;Map&lt;String, String&gt;&gt; brands = Datasets.rows(Config.BRANDS_CSV_PATH);
+ * </pre>
+ */
+public final class Datasets {
+
+    private static final long MAX_CACHED_BYTES = Long.getLong(
+            Config.DATASET_MAX_CACHED_BYTES_PROPERTY, Config.DEFAULT_DATASET_MAX_CACHED_BYTES);
+
+    private static final ConcurrentMap<String, CsvTable> TABLES = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, List<UserRecord>> USERS = new ConcurrentHashMap<>();
+
+    private Datasets() {
+    }
+
+    /**
+     * The parsed CSV file at <code>csvPath</code>.
+     */
+    public static CsvTable table(String csvPath) {
+        return TABLES.computeIfAbsent(csvPath, Datasets::load);
+    }
+
+    /**
+     * The data rows of <code>csvPath</code>, keyed by column name.
+     */
+    public static List<Map<String, String>> rows(String csvPath) {
+        return table(csvPath).rows();
+    }
+
+    /**
+     * The data rows of a user CSV (17 account columns in {@link com.automationexercise.api.client.AccountForm}
+     * order) as typed records.
+     */
+    public static List<UserRecord> users(String csvPath) {
+        return USERS.computeIfAbsent(csvPath, path -> {
+            CsvTable table = table(path);
+            List<UserRecord> users = new ArrayList<>(table.size());
+            for (int i = 0; i < table.size(); i++) {
+                users.add(UserRecord.from(table, i));
+            }
+            return Collections.unmodifiableList(users);
+        });
+    }
+
+    /**
+     * The data rows of <code>csvPath</code> with <code>@CsvFileSource</code> cell semantics (see
+     * {@link CsvTable#record(int)}). Files up to <code>-Dapi.datasets.maxCachedBytes</code> (default
+     * {@link Config#DEFAULT_DATASET_MAX_CACHED_BYTES}) are served from the shared table; larger files are read
+     * lazily, one row per element, and never held in memory. Close the stream to release the file.
+     */
+    public static Stream<String[]> records(String csvPath) {
+        if (TABLES.containsKey(csvPath) || size(csvPath) <= MAX_CACHED_BYTES) {
+            CsvTable table = table(csvPath);
+            return IntStream.range(0, table.size()).mapToObj(table::record);
+        }
+        try {
+            BufferedReader reader = Files.newBufferedReader(Paths.get(csvPath), StandardCharsets.UTF_8);
+            Iterator<String[]> rows;
+            try {
+                rows = CsvTable.iterate(reader, Config.EMAIL_COLUMN, FixtureNamespace::email);
+            } catch (IOException | RuntimeException e) {
+                reader.close();
+                throw e;
+            }
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false)
+                    .onClose(() -> {
+                        try {
+                            reader.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read dataset " + csvPath, e);
+        }
+    }
+
+    private static long size(String csvPath) {
+        try {
+            return Files.size(Paths.get(csvPath));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read dataset " + csvPath, e);
+        }
+    }
+
+    private static CsvTable load(String csvPath) {
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(csvPath), StandardCharsets.UTF_8)) {
+            return CsvTable.parse(reader).mapColumn(Config.EMAIL_COLUMN, FixtureNamespace::email);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read dataset " + csvPath, e);
+        }
+    }
+}
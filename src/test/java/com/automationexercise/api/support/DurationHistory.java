@@ -0,0 +1,169 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <h1>DurationHistory</h1>
+ *
+ * <p>Expected wall-clock duration of every test class, learned from previous runs. The history is a small
+ * properties file with one <code>class=milliseconds</code> line per class.</p>
+ *
+ * <p>The first call to {@link #get()} in a JVM reads two snapshots that stay fixed for the whole run:</p>
+ * <ul>
+ *   <li>{@link #durations()}: the input history (<code>-Dapi.durations.file</code>, default
+ *       {@link Config#DEFAULT_DURATIONS_FILE}). The run never writes to it, so every CI node given the same input
+ *       makes the same shard plan whatever ran on it before.</li>
+ *   <li>{@link #latestDurations()}: the input overlaid with the output of the last run on this machine, for
+ *       decisions that need not agree between nodes, such as the order classes start in.</li>
+ * </ul>
+ *
+ * <p>What a run learns goes to the output file (<code>-Dapi.durations.output</code>, default
+ * {@link Config#DEFAULT_DURATIONS_OUTPUT}). The classes are timed during the run by
+ * {@link com.automationexercise.api.extension.ClassDurationExtension}, the only source of durations, so no class
+ * is counted twice. The output holds the classes that ran tests in this JVM, each with the mean of its latest and
+ * observed duration, so a single slow run does not dominate. Classes that were skipped or filtered out are left
+ * out of it, so an opt-in class is not weighted in the runs that skip it. The outputs of all shards together
+ * (the files can simply be concatenated) are the input of the next sharded run.</p>
+ */
+public final class DurationHistory {
+
+    private static final Logger LOG = LogManager.getLogger(DurationHistory.class);
+
+    private static volatile DurationHistory instance;
+
+    private final Path file;
+    private final Path output;
+    private final Map<String, Long> snapshot;
+    private final Map<String, Long> latest;
+    private final Map<String, Long> learned = new TreeMap<>();
+
+    private DurationHistory(Path file, Path output, Map<String, Long> snapshot, Map<String, Long> lastRun) {
+        this.file = file;
+        this.output = output;
+        this.snapshot = Collections.unmodifiableMap(snapshot);
+        Map<String, Long> latest = new TreeMap<>(snapshot);
+        latest.putAll(lastRun);
+        this.latest = Collections.unmodifiableMap(latest);
+    }
+
+    /**
+     * The history of this JVM, loaded on first use.
+     */
+    public static DurationHistory get() {
+        DurationHistory history = instance;
+        if (history == null) {
+            synchronized (DurationHistory.class) {
+                history = instance;
+                if (history == null) {
+                    history = load(Paths.get(System.getProperty(Config.DURATIONS_FILE_PROPERTY, Config.DEFAULT_DURATIONS_FILE)),
+                            Paths.get(System.getProperty(Config.DURATIONS_OUTPUT_PROPERTY, Config.DEFAULT_DURATIONS_OUTPUT)));
+                    instance = history;
+                }
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Expected duration of <code>className</code> in milliseconds by the input history, or <code>null</code> if
+     * it has never run.
+     */
+    public Long millis(String className) {
+        return snapshot.get(className);
+    }
+
+    /**
+     * Every class of the input history and its expected duration in milliseconds, as read at the start of the
+     * run.
+     */
+    public Map<String, Long> durations() {
+        return snapshot;
+    }
+
+    /**
+     * {@link #durations()} updated with the output of the last run, if there is one, as read at the start of the
+     * run. Without an input history a fresh checkout learns from its second run on.
+     */
+    public Map<String, Long> latestDurations() {
+        return latest;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    private static DurationHistory load(Path file, Path output) {
+        Map<String, Long> durations = read(file);
+        if (durations.isEmpty()) {
+            LOG.info("No test duration history at {} yet", file.toAbsolutePath());
+        }
+        return new DurationHistory(file, output, durations, read(output));
+    }
+
+    /**
+     * The <code>class=milliseconds</code> lines of <code>file</code>, or an empty map if it does not exist.
+     */
+    private static Map<String, Long> read(Path file) {
+        Map<String, Long> durations = new TreeMap<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                int separator = line.lastIndexOf('=');
+                if (line.isBlank() || line.startsWith("#") || separator < 0) {
+                    continue;
+                }
+                try {
+                    durations.put(line.substring(0, separator).trim(), Long.parseLong(line.substring(separator + 1).trim()));
+                } catch (NumberFormatException e) {
+                    LOG.warn("Ignoring malformed line in {}: {}", file, line);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // Nothing learned yet
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file.toAbsolutePath(), e);
+        }
+        return durations;
+    }
+
+    /**
+     * Records one observed duration of <code>className</code>; {@link #save()} writes it out. The snapshots used
+     * by this run are not affected.
+     */
+    public synchronized void learn(String className, long millis) {
+        Long previous = learned.getOrDefault(className, latest.get(className));
+        learned.put(className, previous != null ? (previous + millis) / 2 : millis);
+    }
+
+    /**
+     * Writes the learned durations to the output file, replacing it atomically. The input history is never
+     * written.
+     */
+    public synchronized void save() {
+        StringBuilder text = new StringBuilder("# Test class durations in milliseconds learned by the run using " + file + "\n");
+        learned.forEach((className, millis) -> text.append(className).append('=').append(millis).append('\n'));
+        Path temporary = output.resolveSibling(output.getFileName() + ".tmp");
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            Files.writeString(temporary, text, StandardCharsets.UTF_8);
+            Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + output.toAbsolutePath(), e);
+        }
+    }
+}
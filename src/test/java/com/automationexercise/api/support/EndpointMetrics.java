@@ -0,0 +1,147 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.metrics.LatencyHistogram;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h1>EndpointMetrics</h1>
+ *
+ * <p>A RestAssured filter that records, for every <code>"METHOD /endpoint"</code> of the suite, a
+ * {@link LatencyHistogram} of response times, the count of each HTTP status and the request and response bytes.
+ * The time is measured around the rest of the filter chain, i.e. from sending the request to having read the
+ * response. Requests that fail with an exception are counted under status 0.</p>
+ *
+ * <p>Recording is lock-free (one histogram bucket, one status slot and a few adders), so the filter adds no
+ * contention between parallel test classes, and every metric can be merged with the same metric of another
+ * run. {@link com.automationexercise.api.extension.EndpointMetricsExtension} installs the filter, exports the
+ * metrics with {@link MetricsExport} and checks the {@link LatencyBudgets} at the end of the suite.</p>
+ */
+public final class EndpointMetrics implements Filter {
+
+    private static final EndpointMetrics INSTANCE = new EndpointMetrics();
+
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private EndpointMetrics() {
+    }
+
+    public static EndpointMetrics filter() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = context.next(request, responseSpec);
+            return response;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            Endpoint endpoint = endpoints.computeIfAbsent(request.getMethod() + " " + request.getUserDefinedPath(),
+                    key -> new Endpoint());
+            endpoint.latency.recordNanos(nanos);
+            endpoint.requestBytes.add(requestBytes(request));
+            if (response == null) {
+                endpoint.statuses.incrementAndGet(0);
+            } else {
+                int status = response.getStatusCode();
+                endpoint.statuses.incrementAndGet(status > 0 && status < Endpoint.STATUSES ? status : 0);
+                endpoint.responseBytes.add(response.asByteArray().length);
+            }
+        }
+    }
+
+    // Body as sent, or the URL-encoded form and query parameters when there is none
+    private static long requestBytes(FilterableRequestSpecification request) {
+        Object body = request.getBody();
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        if (body != null) {
+            return body.toString().getBytes(StandardCharsets.UTF_8).length;
+        }
+        return encodedLength(request.getFormParams()) + encodedLength(request.getQueryParams());
+    }
+
+    private static long encodedLength(Map<String, String> params) {
+        long length = 0;
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            length += (length == 0 ? 0 : 1) + URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8).length()
+                    + 1 + URLEncoder.encode(String.valueOf(param.getValue()), StandardCharsets.UTF_8).length();
+        }
+        return length;
+    }
+
+    /**
+     * The metrics recorded so far by <code>"METHOD /endpoint"</code>, sorted by name.
+     */
+    public static Map<String, Endpoint> endpoints() {
+        return Collections.unmodifiableMap(new TreeMap<>(INSTANCE.endpoints));
+    }
+
+    /**
+     * The response time histograms recorded so far by <code>"METHOD /endpoint"</code>, sorted by name.
+     */
+    public static Map<String, LatencyHistogram> histograms() {
+        Map<String, LatencyHistogram> histograms = new TreeMap<>();
+        INSTANCE.endpoints.forEach((key, endpoint) -> histograms.put(key, endpoint.latency));
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * Metrics of one method and endpoint.
+     */
+    public static final class Endpoint {
+
+        // Status codes are counted in a flat array indexed by code; 0 counts requests without a response
+        private static final int STATUSES = 600;
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLongArray statuses = new AtomicLongArray(STATUSES);
+        private final LongAdder requestBytes = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        /**
+         * Request counts by HTTP status, in ascending order; status 0 counts requests that threw.
+         */
+        public Map<Integer, Long> statuses() {
+            Map<Integer, Long> counts = new LinkedHashMap<>();
+            for (int status = 0; status < STATUSES; status++) {
+                long count = statuses.get(status);
+                if (count != 0) {
+                    counts.put(status, count);
+                }
+            }
+            return counts;
+        }
+
+        public long requestBytes() {
+            return requestBytes.sum();
+        }
+
+        public long responseBytes() {
+            return responseBytes.sum();
+        }
+    }
+}
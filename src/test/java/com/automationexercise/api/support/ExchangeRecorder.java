@@ -0,0 +1,132 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>ExchangeRecorder</h1>
+ *
+ * <p>A RestAssured filter that keeps the last <code>-Dapi.exchanges.bufferSize</code> (default
+ * {@link Config#DEFAULT_EXCHANGE_BUFFER_SIZE}) exchanges of each thread in a ring buffer, so a failing test can
+ * show the requests it sent without every passing test logging them.</p>
+ *
+ * <p>Each thread's ring and its slots are allocated once. Recording an exchange overwrites the oldest slot
+ * with references to the request and response; nothing is copied or formatted until
+ * {@link #describeBetween(long, long)} is called. A ring is only written and read by its own thread, so no locking is needed.</p>
+ *
+ * <p>{@link com.automationexercise.api.extension.ExchangeCaptureExtension} installs the filter for the whole
+ * suite and dumps a test's exchanges when it fails.</p>
+ */
+public final class ExchangeRecorder implements Filter {
+
+    private static final int SIZE = Math.max(1,
+            Integer.getInteger(Config.EXCHANGE_BUFFER_SIZE_PROPERTY, Config.DEFAULT_EXCHANGE_BUFFER_SIZE));
+    private static final ExchangeRecorder INSTANCE = new ExchangeRecorder();
+    private static final ThreadLocal<Ring> RINGS = ThreadLocal.withInitial(Ring::new);
+
+    private ExchangeRecorder() {
+    }
+
+    public static ExchangeRecorder filter() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        long start = System.nanoTime();
+        try {
+            Response response = context.next(request, responseSpec);
+            RINGS.get().record(request, response, null, System.nanoTime() - start);
+            return response;
+        } catch (RuntimeException | Error e) {
+            RINGS.get().record(request, null, e, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    /**
+     * Number of exchanges the current thread has recorded so far; pass it to
+     * {@link #describeBetween(long, long)}.
+     */
+    public static long mark() {
+        return RINGS.get().count;
+    }
+
+    /**
+     * The exchanges the current thread recorded between the marks <code>from</code> and <code>to</code>, oldest
+     * first, or an empty string if there are none. Exchanges that have been overwritten since are reported as
+     * dropped.
+     */
+    public static String describeBetween(long from, long to) {
+        Ring ring = RINGS.get();
+        StringBuilder text = new StringBuilder();
+        long first = Math.max(from, ring.count - SIZE);
+        if (first > from) {
+            text.append(String.format("%n(%d earlier exchanges dropped, -D%s=%d keeps more)",
+                    first - from, Config.EXCHANGE_BUFFER_SIZE_PROPERTY, SIZE));
+        }
+        for (long sequence = first; sequence < Math.min(to, ring.count); sequence++) {
+            ring.slots[(int) (sequence % SIZE)].describe(sequence + 1, text);
+        }
+        return text.toString();
+    }
+
+    private static final class Ring {
+
+        private final Slot[] slots = new Slot[SIZE];
+        private long count;
+
+        Ring() {
+            for (int i = 0; i < SIZE; i++) {
+                slots[i] = new Slot();
+            }
+        }
+
+        void record(FilterableRequestSpecification request, Response response, Throwable failure, long nanos) {
+            Slot slot = slots[(int) (count % SIZE)];
+            slot.method = request.getMethod();
+            slot.uri = request.getURI();
+            slot.formParams = request.getFormParams();
+            slot.queryParams = request.getQueryParams();
+            slot.response = response;
+            slot.failure = failure;
+            slot.nanos = nanos;
+            count++;
+        }
+    }
+
+    private static final class Slot {
+
+        private String method;
+        private String uri;
+        private Map<String, String> formParams;
+        private Map<String, String> queryParams;
+        private Response response;
+        private Throwable failure;
+        private long nanos;
+
+        void describe(long number, StringBuilder text) {
+            text.append(String.format("%n#%d %s %s", number, method, uri));
+            if (!queryParams.isEmpty()) {
+                text.append(" query=").append(queryParams);
+            }
+            if (!formParams.isEmpty()) {
+                text.append(" form=").append(formParams);
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            if (failure != null) {
+                text.append(String.format(" -> failed after %d ms: %s", millis, failure));
+            } else {
+                text.append(String.format(" -> %d in %d ms%n%s", response.getStatusCode(), millis, response.asString()));
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.automationexercise.api.support;
+
+import io.restassured.response.Response;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * <h1>Exchanges</h1>
+ *
+ * <p>Thread-safe, per-row memo of request/response exchanges for parameterized test classes. Each CSV row
+ * (identified by a key such as the email or search term) gets its own exchange, sent exactly once by whichever
+ * test method needs it first; every other method validating that row reuses the same response.</p>
+ *
+ * <p>This replaces the single mutable <code>response</code> field the classes used to share between
+ * <code>@Order</code>ed methods, which only ever kept the last CSV row and was unsafe under parallel
+ * execution.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * private final Exchanges&lt;String&gt; searches = new Exchanges&lt;&gt;();
+ *
+ * Response response = searches.get(product, () -&gt; given().formParams("search_product", product).post(...));
+ * </pre>
+ */
+public final class Exchanges<K> {
+
+    private final ConcurrentMap<K, FutureTask<Response>> exchanges = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the exchange for <code>key</code>, sending the request with <code>send</code> if no other
+     * method has done so yet. Concurrent callers for the same key wait for the single in-flight request.
+     */
+    public Response get(K key, Supplier<Response> send) {
+        FutureTask<Response> task = new FutureTask<>(send::get);
+        FutureTask<Response> existing = exchanges.putIfAbsent(key, task);
+        if (existing == null) {
+            existing = task;
+            task.run();
+        }
+        try {
+            return existing.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Exchange for " + key + " failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the exchange for " + key, e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+
+/**
+ * <h1>FixtureNamespace</h1>
+ *
+ * <p>Scopes the fixture accounts to one run and one surefire fork. Every email read from a CSV
+ * <code>Email</code> column, and every generated one, is rewritten to a plus-address,
+ * e.g. <code>katie@gmail.com</code> becomes <code>katie+k3x9q2f1@gmail.com</code>. Two pipelines, or two forks of
+ * one pipeline, therefore never create, modify or delete each other's accounts.</p>
+ *
+ * <p>The rewrite happens once, when {@link Datasets} loads a file, so setup code, the fixture pool and the
+ * assertions all see the same rewritten addresses. Case and surrounding whitespace are kept:
+ * <code>KATIE@GMAIL.COM</code> and <code>katie@gmail.com</code> stay two different accounts, and a padded cell
+ * stays padded.</p>
+ *
+ * <p>The namespace is <code>-Dapi.namespace</code> (letters and digits only, e.g. the CI build number) followed
+ * by <code>f</code> and the fork number from <code>-Dapi.fork</code>. Without <code>-Dapi.namespace</code> a
+ * random id is drawn per JVM, except when a cassette is recorded or replayed, which needs the same requests in
+ * both runs and uses {@link Config#CASSETTE_NAMESPACE}. <code>-Dapi.namespace=off</code> keeps the addresses
+ * from the CSVs.</p>
+ */
+public final class FixtureNamespace {
+
+    private static final String NAMESPACE = namespace();
+
+    private FixtureNamespace() {
+    }
+
+    /**
+     * The namespace of this JVM, or <code>null</code> when emails are not rewritten.
+     */
+    public static String get() {
+        return NAMESPACE;
+    }
+
+    /**
+     * <code>address</code> with the namespace appended to its local part. Values without an <code>@</code>, and
+     * <code>null</code>, are returned unchanged.
+     */
+    public static String email(String address) {
+        if (NAMESPACE == null || address == null) {
+            return address;
+        }
+        int at = address.lastIndexOf('@');
+        if (at <= 0) {
+            return address;
+        }
+        int start = 0;
+        while (start < at && Character.isWhitespace(address.charAt(start))) {
+            start++;
+        }
+        if (start == at) {
+            return address;
+        }
+        return address.substring(0, at) + '+' + NAMESPACE + address.substring(at);
+    }
+
+    private static String namespace() {
+        String run = System.getProperty(Config.NAMESPACE_PROPERTY);
+        if (Config.NAMESPACE_OFF.equalsIgnoreCase(run)) {
+            return null;
+        }
+        if (run == null || run.isBlank()) {
+            run = System.getProperty(Config.CASSETTE_MODE_PROPERTY) != null
+                    ? Config.CASSETTE_NAMESPACE
+                    : Long.toString(new SecureRandom().nextLong() >>> 24, Character.MAX_RADIX);
+        }
+        String fork = System.getProperty(Config.FORK_PROPERTY, "");
+        String namespace = (fork.isBlank() ? run : run + "f" + fork).toLowerCase(Locale.ROOT);
+        if (!namespace.chars().allMatch(c -> (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))) {
+            throw new IllegalArgumentException(String.format("-D%s and -D%s may only contain letters and digits, not %s",
+                    Config.NAMESPACE_PROPERTY, Config.FORK_PROPERTY, namespace));
+        }
+        return namespace;
+    }
+}
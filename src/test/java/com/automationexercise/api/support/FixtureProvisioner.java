@@ -0,0 +1,301 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Function;
+
+import static com.automationexercise.api.client.ApiClient.given;
+import static com.automationexercise.api.support.JsonBody.json;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * <h1>FixtureProvisioner</h1>
+ *
+ * <p>Creates and deletes the user accounts the user test classes need, sending all requests for a CSV file
+ * concurrently on a bounded executor instead of one blocking request per row. Setup time therefore depends on
+ * the slowest single request rather than on the sum of all of them.</p>
+ *
+ * <p>Every row is attempted even when others fail; the outcome is returned as one {@link Report} listing all
+ * failed accounts. <code>@BeforeAll</code> methods call {@link Report#assertSucceeded(String)} to fail early,
+ * <code>@AfterAll</code> cleanups call {@link Report#warnOnFailures(String)}.</p>
+ *
+ * <p>When the state of the accounts is not known, e.g. at the start of a run after a crashed one, or after a class
+ * modified them, {@link #ensureUsers(List)} and {@link #removeUsers(List)} reconcile them instead: each account is
+ * looked up with <code>/api/getUserDetailByEmail</code> first, and only the create, update or delete it actually
+ * needs is sent. Accounts already in the desired state cost one GET and nothing else.</p>
+ *
+ * <p>The number of concurrent requests is limited by <code>-Dapi.fixtures.concurrency</code>
+ * (default {@link Config#DEFAULT_FIXTURE_CONCURRENCY}).</p>
+ */
+public final class FixtureProvisioner {
+
+    private static final Logger LOG = LogManager.getLogger(FixtureProvisioner.class);
+
+    // "Email already exists!" is what the API answers for an existing account; "User already exists!" is kept
+    // for compatibility with the original setup checks.
+    private static final Set<String> CREATED_MESSAGES = Set.of("User created!", "Email already exists!", "User already exists!");
+
+    // Account form fields and the keys getUserDetailByEmail returns them under. The password and mobile number are
+    // not returned, so reconciliation cannot see them and assumes they are unchanged.
+    private static final Map<String, String> DETAIL_KEYS = Map.ofEntries(
+            Map.entry("name", "name"),
+            Map.entry("title", "title"),
+            Map.entry("birth_date", "birth_day"),
+            Map.entry("birth_month", "birth_month"),
+            Map.entry("birth_year", "birth_year"),
+            Map.entry("firstname", "first_name"),
+            Map.entry("lastname", "last_name"),
+            Map.entry("company", "company"),
+            Map.entry("address1", "address1"),
+            Map.entry("address2", "address2"),
+            Map.entry("country", "country"),
+            Map.entry("zipcode", "zipcode"),
+            Map.entry("state", "state"),
+            Map.entry("city", "city"));
+
+    /**
+     * What reconciliation did to one account.
+     */
+    public enum Change { UNCHANGED, CREATED, UPDATED, DELETED }
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Integer.getInteger(Config.FIXTURE_CONCURRENCY_PROPERTY, Config.DEFAULT_FIXTURE_CONCURRENCY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "fixture-provisioner");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private FixtureProvisioner() {
+    }
+
+    /**
+     * Creates every account concurrently. A row succeeds when the API answers "User created!" or reports that
+     * the account already exists.
+     */
+    public static Report createUsers(List<UserRecord> users) {
+        return run(users, FixtureProvisioner::create);
+    }
+
+    /**
+     * Deletes every account concurrently. A row succeeds when the API answers with one of
+     * <code>acceptedMessages</code>, normally "Account deleted!".
+     */
+    public static Report deleteUsers(List<UserRecord> users, String... acceptedMessages) {
+        Set<String> accepted = Set.of(acceptedMessages);
+        return run(users, user -> delete(user, accepted));
+    }
+
+    /**
+     * Makes every account exist with exactly its CSV data: missing accounts are created, accounts whose details
+     * differ are updated, and accounts that already match are left alone.
+     */
+    public static Report ensureUsers(List<UserRecord> users) {
+        AtomicIntegerArray changes = new AtomicIntegerArray(Change.values().length);
+        return run(users, user -> {
+            Map<String, Object> details = lookUp(user);
+            if (details == null) {
+                return record(changes, Change.CREATED, create(user));
+            }
+            if (matches(user, details)) {
+                return record(changes, Change.UNCHANGED, null);
+            }
+            return record(changes, Change.UPDATED, update(user));
+        }).with(changes);
+    }
+
+    /**
+     * Makes sure no account exists, deleting only the ones that do.
+     */
+    public static Report removeUsers(List<UserRecord> users) {
+        AtomicIntegerArray changes = new AtomicIntegerArray(Change.values().length);
+        Set<String> accepted = Set.of(Config.EXPECTED_ACCOUNT_DELETED_MESSAGE);
+        return run(users, user -> lookUp(user) == null
+                ? record(changes, Change.UNCHANGED, null)
+                : record(changes, Change.DELETED, delete(user, accepted))).with(changes);
+    }
+
+    private static String create(UserRecord user) {
+        Response response = given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams(user.toForm())
+                .post(Config.CREATE_ACCOUNT_ENDPOINT)
+                .then()
+                .extract().response();
+        String message = json(response).getString("message");
+        ApiLog.body(LOG, Config.CREATE_ACCOUNT_ENDPOINT, () -> "Create response for " + user.email(), response);
+        return CREATED_MESSAGES.contains(message) ? null : message;
+    }
+
+    private static String update(UserRecord user) {
+        Response response = given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams(user.toForm())
+                .put(Config.UPDATE_ACCOUNT_ENDPOINT)
+                .then()
+                .extract().response();
+        String message = json(response).getString("message");
+        ApiLog.body(LOG, Config.UPDATE_ACCOUNT_ENDPOINT, () -> "Update response for " + user.email(), response);
+        return Config.EXPECTED_USER_UPDATED_MESSAGE.equals(message) ? null : message;
+    }
+
+    private static String delete(UserRecord user, Set<String> accepted) {
+        Response response = given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams("email", user.email(), "password", user.password())
+                .delete(Config.DELETE_ACCOUNT_ENDPOINT)
+                .then()
+                .extract().response();
+        String message = json(response).getString("message");
+        ApiLog.body(LOG, Config.DELETE_ACCOUNT_ENDPOINT, () -> "Delete response for " + user.email(), response);
+        return accepted.contains(message) ? null : message;
+    }
+
+    /**
+     * The account details returned by <code>/api/getUserDetailByEmail</code>, or <code>null</code> when the
+     * account does not exist. Any other answer fails the row.
+     */
+    private static Map<String, Object> lookUp(UserRecord user) {
+        Response response = given()
+                .param("email", user.email())
+                .get(Config.GET_USER_DETAILS_BY_EMAIL_ENDPOINT)
+                .then()
+                .extract().response();
+        ApiLog.body(LOG, Config.GET_USER_DETAILS_BY_EMAIL_ENDPOINT, () -> "Lookup response for " + user.email(), response);
+        JsonBody body = json(response);
+        String responseCode = body.string("/responseCode");
+        if (Config.EXPECTED_RESPONSE_CODE_200.equals(responseCode)) {
+            return body.map("/user");
+        }
+        if (Config.EXPECTED_RESPONSE_CODE_404.equals(responseCode)) {
+            return null;
+        }
+        throw new IllegalStateException("lookup answered " + responseCode + ": " + body.string("/message"));
+    }
+
+    private static boolean matches(UserRecord user, Map<String, Object> details) {
+        for (Map.Entry<String, String> field : DETAIL_KEYS.entrySet()) {
+            Object actual = details.get(field.getValue());
+            String expected = user.toForm().get(field.getKey());
+            if (!Objects.equals(expected, actual == null ? "" : actual.toString().trim())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Counts the change only when the request it needed succeeded
+    private static String record(AtomicIntegerArray changes, Change change, String failure) {
+        if (failure == null) {
+            changes.incrementAndGet(change.ordinal());
+        }
+        return failure;
+    }
+
+    /**
+     * Runs <code>request</code> for every user on the shared executor and waits for all of them. The function
+     * returns <code>null</code> on success, otherwise the unexpected message.
+     */
+    private static Report run(List<UserRecord> users, Function<UserRecord, String> request) {
+        List<CompletableFuture<String>> outcomes = new ArrayList<>();
+        for (UserRecord user : users) {
+            outcomes.add(CompletableFuture.supplyAsync(() -> request.apply(user), EXECUTOR)
+                    .exceptionally(error -> "request failed: " + error.getCause()));
+        }
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < users.size(); i++) {
+            String failure = outcomes.get(i).join();
+            if (failure != null) {
+                failures.add(users.get(i).email() + ": " + failure);
+            }
+        }
+        return new Report(users.size(), failures);
+    }
+
+    /**
+     * Outcome of one provisioning run: how many accounts were attempted and which of them failed, and for a
+     * reconciliation what was done to the others.
+     */
+    public static final class Report {
+
+        private final int attempted;
+        private final List<String> failures;
+        private final Map<Change, Integer> changes;
+
+        Report(int attempted, List<String> failures) {
+            this(attempted, failures, Map.of());
+        }
+
+        private Report(int attempted, List<String> failures, Map<Change, Integer> changes) {
+            this.attempted = attempted;
+            this.failures = Collections.unmodifiableList(failures);
+            this.changes = changes;
+        }
+
+        private Report with(AtomicIntegerArray counts) {
+            Map<Change, Integer> changes = new EnumMap<>(Change.class);
+            for (Change change : Change.values()) {
+                changes.put(change, counts.get(change.ordinal()));
+            }
+            return new Report(attempted, failures, Collections.unmodifiableMap(changes));
+        }
+
+        public List<String> failures() {
+            return failures;
+        }
+
+        /**
+         * How many accounts a reconciliation left with <code>change</code>; 0 for plain creates and deletes.
+         */
+        public int count(Change change) {
+            return changes.getOrDefault(change, 0);
+        }
+
+        /**
+         * Fails the calling lifecycle method with every failed account in one message.
+         */
+        public void assertSucceeded(String action) {
+            if (!failures.isEmpty()) {
+                fail(describe(action));
+            }
+        }
+
+        /**
+         * Logs every failed account as one warning; used by cleanups that must not fail the class.
+         */
+        public void warnOnFailures(String action) {
+            if (!failures.isEmpty()) {
+                LOG.warn(describe(action));
+            }
+        }
+
+        private String describe(String action) {
+            return String.format("%s failed for %d of %d accounts:%n - %s",
+                    action, failures.size(), attempted, String.join(System.lineSeparator() + " - ", failures));
+        }
+
+        /**
+         * E.g. <code>2 accounts: 1 unchanged, 1 created, 0 updated, 0 deleted, 0 failed</code>.
+         */
+        @Override
+        public String toString() {
+            return String.format("%d accounts: %d unchanged, %d created, %d updated, %d deleted, %d failed",
+                    attempted, count(Change.UNCHANGED), count(Change.CREATED), count(Change.UPDATED),
+                    count(Change.DELETED), failures.size());
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.automationexercise.api.support;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h1>JsonBody</h1>
+ *
+ * <p>The JSON body of a {@link Response}, parsed exactly once. <code>response.jsonPath()</code> builds a new
+ * {@link JsonPath} on every call, and each of them parses the whole body again, so a test reading fifteen
+ * fields of a user paid for fifteen parses. {@link #json(Response)} instead returns the same parsed body for the
+ * same response, however many methods, rows or threads read it.</p>
+ *
+ * <p>The body is parsed by {@link JsonTree} in plain Java. It can be read in two ways:</p>
+ * <ul>
+ *   <li>JSON pointers (<code>string("/message")</code>, <code>list("/brands/*&#47;id")</code>), which never load
+ *       Groovy and are the cheapest way to read a field;</li>
+ *   <li>GPath expressions (<code>getString("user.name")</code>), evaluated by {@link CompiledPaths}, which
+ *       compiles each distinct expression once for the whole run rather than once per read.</li>
+ * </ul>
+ *
+ * <p>Each body counts how often it was parsed ({@link #parses()}) and read; {@link #stats()} sums these over the
+ * run so the suite report can show that every body was parsed once.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * import static com.automationexercise.api.support.JsonBody.json;
+ *
+ * assertThat(json(response).getString("user.name"), equalTo(name));
+ * </pre>
+ */
+public final class JsonBody {
+
+    // Weak keys: a body is dropped together with its response, so the body must not hold the response strongly.
+    // Responses do not override equals(), so lookups are by identity.
+    private static final Map<Response, JsonBody> BODIES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final AtomicLong BODIES_CREATED = new AtomicLong();
+    private static final AtomicLong TOTAL_PARSES = new AtomicLong();
+    private static final AtomicLong TOTAL_READS = new AtomicLong();
+
+    private final WeakReference<Response> response;
+    private final AtomicInteger parses = new AtomicInteger();
+    private volatile Object parsed;
+
+    private JsonBody(Response response) {
+        this.response = new WeakReference<>(response);
+    }
+
+    /**
+     * Returns the parsed body of <code>response</code>; the body is parsed on first use only.
+     */
+    public static JsonBody json(Response response) {
+        return BODIES.computeIfAbsent(response, key -> {
+            BODIES_CREATED.incrementAndGet();
+            return new JsonBody(key);
+        });
+    }
+
+    public String getString(String path) {
+        return convert(get(path), String.class);
+    }
+
+    /**
+     * Returns the value at a JSON pointer as a string, or <code>null</code> if it does not exist.
+     */
+    public String string(String pointer) {
+        Object value = at(pointer);
+        return value == null ? null : value.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> List<T> list(String pointer) {
+        return (List<T>) at(pointer);
+    }
+
+    /**
+     * Returns the list at a JSON pointer with every element converted to <code>type</code>; numbers and numeric
+     * strings convert to <code>Integer</code>, <code>Long</code>, <code>Float</code> or <code>Double</code>,
+     * <code>"true"</code>/<code>"false"</code> to <code>Boolean</code>, and anything to <code>String</code>.
+     */
+    public <T> List<T> list(String pointer, Class<T> type) {
+        List<?> values = list(pointer);
+        List<T> converted = new ArrayList<>();
+        if (values != null) {
+            for (Object value : values) {
+                converted.add(convert(value, type));
+            }
+        }
+        return converted;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> map(String pointer) {
+        return (Map<K, V>) at(pointer);
+    }
+
+    /**
+     * Returns the value at a JSON pointer (see {@link JsonTree#select(Object, String)}).
+     */
+    public Object at(String pointer) {
+        Object value = JsonTree.select(root(), pointer);
+        StartupProbe.bodyRead();
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getList(String path) {
+        return (List<T>) get(path);
+    }
+
+    /**
+     * Returns the list at <code>path</code> with every element converted to <code>type</code> as
+     * {@link #list(String, Class)} does, like {@link JsonPath#getList(String, Class)}.
+     */
+    public <T> List<T> getList(String path, Class<T> type) {
+        List<?> values = getList(path);
+        List<T> converted = new ArrayList<>();
+        if (values != null) {
+            for (Object value : values) {
+                converted.add(convert(value, type));
+            }
+        }
+        return converted;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> getMap(String path) {
+        return (Map<K, V>) get(path);
+    }
+
+    public <T> T get(String path) {
+        return get(path, Map.of());
+    }
+
+    /**
+     * Evaluates a parameterized path, e.g. <code>get("brands.find { it.id == id }.brand", Map.of("id", 3))</code>.
+     * The expression is compiled once however many different values are bound to it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String path, Map<String, ?> params) {
+        T value = (T) CompiledPaths.evaluate(path, root(), params);
+        StartupProbe.bodyRead();
+        return value;
+    }
+
+    private static <T> T convert(Object value, Class<T> type) {
+        if (value == null || type.isInstance(value)) {
+            return type.cast(value);
+        }
+        if (type == String.class) {
+            return type.cast(value.toString());
+        }
+        if (type == Integer.class) {
+            return type.cast(value instanceof Number ? ((Number) value).intValue() : Integer.valueOf(value.toString().trim()));
+        }
+        if (type == Long.class) {
+            return type.cast(value instanceof Number ? ((Number) value).longValue() : Long.valueOf(value.toString().trim()));
+        }
+        if (type == Float.class) {
+            return type.cast(value instanceof Number ? ((Number) value).floatValue() : Float.valueOf(value.toString().trim()));
+        }
+        if (type == Double.class) {
+            return type.cast(value instanceof Number ? ((Number) value).doubleValue() : Double.valueOf(value.toString().trim()));
+        }
+        if (type == Boolean.class && value instanceof String) {
+            String text = ((String) value).trim();
+            if (text.equalsIgnoreCase("true") || text.equalsIgnoreCase("false")) {
+                return type.cast(Boolean.valueOf(text));
+            }
+        }
+        throw new IllegalArgumentException("Cannot convert " + value.getClass().getSimpleName() + " to " + type.getSimpleName());
+    }
+
+    /**
+     * How many times this body has been parsed; 1 once it has been read.
+     */
+    public int parses() {
+        return parses.get();
+    }
+
+    /**
+     * Returns the parsed document, parsing it under a per-body lock the first time so concurrent readers never
+     * parse it twice.
+     */
+    private Object root() {
+        TOTAL_READS.incrementAndGet();
+        Object root = parsed;
+        if (root == null) {
+            synchronized (this) {
+                root = parsed;
+                if (root == null) {
+                    // The caller holds the response while reading it, so the reference is still set.
+                    root = JsonTree.parse(response.get().asString());
+                    parses.incrementAndGet();
+                    TOTAL_PARSES.incrementAndGet();
+                    parsed = root;
+                }
+            }
+        }
+        return root;
+    }
+
+    public static Stats stats() {
+        return new Stats(BODIES_CREATED.get(), TOTAL_PARSES.get(), TOTAL_READS.get());
+    }
+
+    /**
+     * Snapshot of the parse counters of every body read so far.
+     */
+    public static final class Stats {
+
+        private final long bodies;
+        private final long parses;
+        private final long reads;
+
+        Stats(long bodies, long parses, long reads) {
+            this.bodies = bodies;
+            this.parses = parses;
+            this.reads = reads;
+        }
+
+        public long bodies() {
+            return bodies;
+        }
+
+        public long parses() {
+            return parses;
+        }
+
+        public long reads() {
+            return reads;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("JSON bodies: %d reads from %d responses, parsed %d times (%.2f parses per response)",
+                    reads, bodies, parses, bodies == 0 ? 0.0 : (double) parses / bodies);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.automationexercise.api.support;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h1>JsonTree</h1>
+ *
+ * <p>A small JSON parser and JSON pointer selector written in plain Java. RestAssured parses and queries JSON
+ * through Groovy, and the first <code>jsonPath()</code> read of a run loads the Groovy compiler and generates a
+ * script class before anything is asserted. Reading a field with {@link #select(Object, String)} loads only
+ * this class.</p>
+ *
+ * <p>{@link #parse(String)} returns an unmodifiable tree of {@link Map} (insertion ordered), {@link List},
+ * {@link String}, {@link Boolean}, <code>null</code> and numbers typed as RestAssured's default
+ * <code>FLOAT_AND_DOUBLE</code> setting does: <code>Integer</code>, <code>Long</code> or <code>BigInteger</code>
+ * for integers and <code>Float</code> or <code>Double</code> for decimals. The tree can therefore also be
+ * queried with GPath.</p>
+ *
+ * <p>Pointers follow RFC 6901 (<code>/brands/0/brand</code>, <code>""</code> for the whole document) with one
+ * extension: a <code>*</code> segment selects every element of an array, so <code>/brands/*&#47;id</code>
+ * returns the list of all brand ids.</p>
+ */
+public final class JsonTree {
+
+    private final String text;
+    private int pos;
+
+    private JsonTree(String text) {
+        this.text = text;
+    }
+
+    public static Object parse(String text) {
+        JsonTree parser = new JsonTree(text);
+        parser.skipWhitespace();
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.pos != text.length()) {
+            throw parser.error("Unexpected trailing content");
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value at <code>pointer</code>, or <code>null</code> if it does not exist. With a
+     * <code>*</code> segment the result is a list with one entry per array element.
+     */
+    public static Object select(Object root, String pointer) {
+        if (pointer.isEmpty()) {
+            return root;
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("JSON pointer must be empty or start with '/': " + pointer);
+        }
+        return select(root, pointer.substring(1).split("/", -1), 0);
+    }
+
+    private static Object select(Object node, String[] segments, int index) {
+        if (index == segments.length || node == null) {
+            return node;
+        }
+        String segment = segments[index];
+        if (segment.equals("*") && node instanceof List) {
+            List<Object> selected = new ArrayList<>();
+            for (Object element : (List<?>) node) {
+                selected.add(select(element, segments, index + 1));
+            }
+            return Collections.unmodifiableList(selected);
+        }
+        String key = segment.replace("~1", "/").replace("~0", "~");
+        if (node instanceof Map) {
+            return select(((Map<?, ?>) node).get(key), segments, index + 1);
+        }
+        if (node instanceof List) {
+            List<?> list = (List<?>) node;
+            try {
+                int position = Integer.parseInt(key);
+                return position >= 0 && position < list.size() ? select(list.get(position), segments, index + 1) : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private Object readValue() {
+        if (pos >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        char c = text.charAt(pos);
+        switch (c) {
+            case '{':
+                return readObject();
+            case '[':
+                return readArray();
+            case '"':
+                return readString();
+            case 't':
+                return readLiteral("true", Boolean.TRUE);
+            case 'f':
+                return readLiteral("false", Boolean.FALSE);
+            case 'n':
+                return readLiteral("null", null);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return readNumber();
+                }
+                throw error("Unexpected character '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return Collections.unmodifiableMap(object);
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("Expected a member name");
+            }
+            String name = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            object.put(name, readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                pos++;
+            } else {
+                expect('}');
+                return Collections.unmodifiableMap(object);
+            }
+        }
+    }
+
+    private List<Object> readArray() {
+        List<Object> array = new ArrayList<>();
+        pos++;
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return Collections.unmodifiableList(array);
+        }
+        while (true) {
+            skipWhitespace();
+            array.add(readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                pos++;
+            } else {
+                expect(']');
+                return Collections.unmodifiableList(array);
+            }
+        }
+    }
+
+    private String readString() {
+        pos++;
+        StringBuilder value = null;
+        int start = pos;
+        while (true) {
+            if (pos >= text.length()) {
+                throw error("Unterminated string");
+            }
+            char c = text.charAt(pos);
+            if (c == '"') {
+                String result = value == null ? text.substring(start, pos) : value.append(text, start, pos).toString();
+                pos++;
+                return result;
+            }
+            if (c == '\\') {
+                if (value == null) {
+                    value = new StringBuilder();
+                }
+                value.append(text, start, pos);
+                pos++;
+                value.append(readEscape());
+                start = pos;
+            } else {
+                pos++;
+            }
+        }
+    }
+
+    private char readEscape() {
+        if (pos >= text.length()) {
+            throw error("Unterminated escape");
+        }
+        char c = text.charAt(pos++);
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                if (pos + 4 > text.length()) {
+                    throw error("Truncated unicode escape");
+                }
+                String hex = text.substring(pos, pos + 4);
+                if (!hex.chars().allMatch(digit -> Character.digit(digit, 16) >= 0)) {
+                    throw error("Invalid unicode escape '\\u" + hex + "'");
+                }
+                pos += 4;
+                return (char) Integer.parseInt(hex, 16);
+            default:
+                throw error("Invalid escape '\\" + c + "'");
+        }
+    }
+
+    private Number readNumber() {
+        int start = pos;
+        boolean decimal = false;
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (c == '.' || c == 'e' || c == 'E') {
+                decimal = true;
+            } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+                break;
+            }
+            pos++;
+        }
+        String number = text.substring(start, pos);
+        try {
+            if (decimal) {
+                double value = Double.parseDouble(number);
+                return Math.abs(value) <= Float.MAX_VALUE ? (Number) (float) value : (Number) value;
+            }
+            BigInteger value = new BigInteger(number);
+            if (value.bitLength() < 32) {
+                return value.intValue();
+            }
+            return value.bitLength() < 64 ? (Number) value.longValue() : value;
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + number + "'");
+        }
+    }
+
+    private Object readLiteral(String literal, Object value) {
+        if (!text.startsWith(literal, pos)) {
+            throw error("Unexpected token");
+        }
+        pos += literal.length();
+        return value;
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private char peek() {
+        if (pos >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        return text.charAt(pos);
+    }
+
+    private void expect(char c) {
+        if (peek() != c) {
+            throw error("Expected '" + c + "'");
+        }
+        pos++;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos + " of JSON body");
+    }
+}
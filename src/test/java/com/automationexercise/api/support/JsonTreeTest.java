@@ -0,0 +1,152 @@
+package com.automationexercise.api.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * <h1>JsonTreeTest</h1>
+ *
+ * <p>This test class verifies the hand-written JSON parser and pointer selector of {@link JsonTree} on literal
+ * documents, without calling the API.</p>
+ *
+ * <p>The tests in this class perform the following verifications:</p>
+ * <ol>
+ *   <li>String escapes, including unicode escapes and surrogate pairs, are decoded.</li>
+ *   <li>Numbers are typed as RestAssured types them: the smallest of Integer, Long and BigInteger for integers,
+ *       Float or Double for decimals.</li>
+ *   <li>Objects keep their member order and the parsed tree cannot be modified.</li>
+ *   <li>Malformed documents are rejected with the reason and position.</li>
+ *   <li>JSON pointers select members, array elements and, with <code>*</code>, every element of an array.</li>
+ * </ol>
+ */
+public class JsonTreeTest {
+
+    @Test
+    @DisplayName("Decode string escapes")
+    void decodeStringEscapes() {
+        Object parsed = JsonTree.parse("\"q\\\" b\\\\ s\\/ \\b\\f\\n\\r\\t \\u00e9 \\ud83d\\ude00\"");
+
+        assertThat("Expected every escape decoded", parsed, equalTo("q\" b\\ s/ \b\f\n\r\t \u00e9 \ud83d\ude00"));
+    }
+
+    @Test
+    @DisplayName("Keep strings without escapes as they are")
+    void keepPlainStrings() {
+        assertThat("Expected the plain string", JsonTree.parse(" \"Blue Top\" "), equalTo("Blue Top"));
+        assertThat("Expected the empty string", JsonTree.parse("\"\""), equalTo(""));
+    }
+
+    /**
+     * Integers take the smallest of <code>Integer</code>, <code>Long</code> and <code>BigInteger</code>; decimals
+     * are <code>Float</code> unless they do not fit one.
+     */
+    @ParameterizedTest(name = "{index} - {0} parses to {1}")
+    @CsvSource({
+            "0, Integer",
+            "-2147483648, Integer",
+            "2147483648, Long",
+            "-9223372036854775808, Long",
+            "9223372036854775808, BigInteger",
+            "-0.5, Float",
+            "1E2, Float",
+            "2.5e-3, Float",
+            "1e39, Double"
+    })
+    @DisplayName("Type numbers like RestAssured")
+    void typeNumbers(String number, String type) {
+        Object parsed = JsonTree.parse(number);
+
+        assertThat("Expected the type of " + number, parsed.getClass().getSimpleName(), equalTo(type));
+    }
+
+    @Test
+    @DisplayName("Parse number values exactly")
+    void parseNumberValues() {
+        assertThat("Expected the int value", JsonTree.parse("-42"), equalTo(-42));
+        assertThat("Expected the long value", JsonTree.parse("4294967296"), equalTo(4294967296L));
+        assertThat("Expected the big integer value", JsonTree.parse("18446744073709551616"),
+                equalTo(new BigInteger("18446744073709551616")));
+        assertThat("Expected the float value", JsonTree.parse("500.25"), equalTo(500.25f));
+    }
+
+    @Test
+    @DisplayName("Parse nested objects and arrays in member order")
+    @SuppressWarnings("unchecked")
+    void parseNestedDocument() {
+        Map<?, ?> parsed = (Map<?, ?>) JsonTree.parse(
+                "{\"responseCode\": 200, \"brands\": [{\"id\": 1, \"brand\": \"Polo\"}, {\"id\": 2, \"brand\": \"H&M\"}],"
+                        + " \"empty\": {}, \"none\": [], \"flag\": true, \"off\": false, \"missing\": null}");
+
+        assertThat("Expected the members in document order", List.copyOf(parsed.keySet()),
+                contains("responseCode", "brands", "empty", "none", "flag", "off", "missing"));
+        assertThat("Expected the empty object", parsed.get("empty"), equalTo(Map.of()));
+        assertThat("Expected the empty array", parsed.get("none"), equalTo(List.of()));
+        assertThat("Expected true", parsed.get("flag"), equalTo(Boolean.TRUE));
+        assertThat("Expected false", parsed.get("off"), equalTo(Boolean.FALSE));
+        assertThat("Expected null", parsed.get("missing"), nullValue());
+        assertThat("Expected the brands", parsed.get("brands"), instanceOf(List.class));
+        assertThrows(UnsupportedOperationException.class, () -> ((Map<Object, Object>) parsed).put("x", 1));
+        assertThrows(UnsupportedOperationException.class, () -> ((List<?>) parsed.get("brands")).remove(0));
+    }
+
+    /**
+     * Every malformed document is rejected with an <code>IllegalArgumentException</code> naming the reason.
+     */
+    @ParameterizedTest(name = "{index} - {0} is rejected with ''{1}''")
+    @CsvSource(delimiter = '|', value = {
+            "''| Unexpected end of input",
+            "'   '| Unexpected end of input",
+            "{\"a\": 1} x| Unexpected trailing content",
+            "[1,]| Unexpected character ']'",
+            "[1 2]| Expected ']'",
+            "{\"a\" 1}| Expected ':'",
+            "{a: 1}| Expected a member name",
+            "{\"a\": 1,}| Expected a member name",
+            "{\"a\": 1| Unexpected end of input",
+            "\"open| Unterminated string",
+            "\"bad \\x\"| Invalid escape '\\x'",
+            "\"\\u12\"| Truncated unicode escape",
+            "\"\\u12G4\"| Invalid unicode escape '\\u12G4'",
+            "tru| Unexpected token",
+            "nul| Unexpected token",
+            "1-2| Invalid number '1-2'",
+            "-| Invalid number '-'",
+            "1.2.3| Invalid number '1.2.3'"
+    })
+    @DisplayName("Reject malformed documents")
+    void rejectMalformedDocuments(String json, String reason) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> JsonTree.parse(json));
+
+        assertThat("Expected the reason and position", e.getMessage(), containsString(reason + " at position"));
+    }
+
+    @Test
+    @DisplayName("Select values with JSON pointers")
+    void selectWithPointers() {
+        Object root = JsonTree.parse(
+                "{\"brands\": [{\"id\": 1, \"brand\": \"Polo\"}, {\"id\": 2, \"brand\": \"H&M\"}], \"a/b\": {\"c~d\": 7}}");
+
+        assertThat("Expected the whole document", JsonTree.select(root, ""), equalTo(root));
+        assertThat("Expected an array element's member", JsonTree.select(root, "/brands/1/brand"), equalTo("H&M"));
+        assertThat("Expected every id", JsonTree.select(root, "/brands/*/id"), equalTo(List.of(1, 2)));
+        assertThat("Expected escaped segments", JsonTree.select(root, "/a~1b/c~0d"), equalTo(7));
+        assertThat("Expected null past the end of the array", JsonTree.select(root, "/brands/2/brand"), nullValue());
+        assertThat("Expected null for a missing member", JsonTree.select(root, "/products/0"), nullValue());
+        assertThat("Expected null for a non-numeric index", JsonTree.select(root, "/brands/first"), nullValue());
+        assertThrows(IllegalArgumentException.class, () -> JsonTree.select(root, "brands"));
+    }
+}
@@ -0,0 +1,200 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.metrics.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>LatencyBudgets</h1>
+ *
+ * <p>Response time percentiles an endpoint has to meet over a whole run, e.g. <code>p95:300</code>: 95% of the
+ * requests to the endpoint take at most 300 ms. An endpoint can have several budgets, separated by commas
+ * (<code>p95:300,p99:800</code>). <code>max:1000</code> is the same as <code>p100:1000</code>: no request may
+ * take longer than a second.</p>
+ *
+ * <p>Budgets are set or replaced with <code>-Dapi.latency.budget.&lt;endpoint&gt;</code>, for every method sent
+ * to the path (<code>-Dapi.latency.budget./api/searchProduct=p99:500</code>), or with
+ * <code>-Dapi.latency.budget.&lt;METHOD&gt;.&lt;endpoint&gt;</code> for one method only
+ * (<code>-Dapi.latency.budget.POST./api/searchProduct=p99:500</code>). A method's own budgets take precedence
+ * over those of its path, except that setting a path replaces the defaults of all its methods; an empty value
+ * removes budgets. The GET requests of the product and brand lists default
+ * to {@link Config#DEFAULT_LIST_LATENCY_BUDGET}, so the "method not supported" probes of the same paths are not
+ * held to it.</p>
+ *
+ * <p>{@link #evaluate(Map)} checks the budgets against the {@link EndpointMetrics} histograms and returns a
+ * breakdown of every endpoint the suite called, with the exceeded budgets marked. A budget is only checked once
+ * its endpoint has enough requests for the percentile to differ from the slowest one (20 for p95, 100 for p99);
+ * below that a single cold-start request would decide it. The suite sends each list endpoint a single request, so
+ * their default is a <code>max</code> budget, which is checked from the first request.</p>
+ */
+public final class LatencyBudgets {
+
+    private static final Map<String, String> DEFAULT_BUDGETS = Map.of(
+            "GET " + Config.PRODUCTS_ENDPOINT, Config.DEFAULT_LIST_LATENCY_BUDGET,
+            "GET " + Config.BRANDS_ENDPOINT, Config.DEFAULT_LIST_LATENCY_BUDGET);
+
+    private final Map<String, List<Budget>> budgets;
+
+    private LatencyBudgets(Map<String, List<Budget>> budgets) {
+        this.budgets = budgets;
+    }
+
+    public static LatencyBudgets fromSystemProperties() {
+        Map<String, String> configured = new TreeMap<>();
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(Config.LATENCY_BUDGET_PROPERTY_PREFIX)) {
+                configured.put(key(name.substring(Config.LATENCY_BUDGET_PROPERTY_PREFIX.length())), System.getProperty(name));
+            }
+        }
+        // A budget set for a whole path replaces the defaults of every method sent to it
+        Map<String, String> specs = new TreeMap<>(DEFAULT_BUDGETS);
+        specs.keySet().removeIf(key -> configured.containsKey(key.substring(key.indexOf(' ') + 1)));
+        specs.putAll(configured);
+        Map<String, List<Budget>> budgets = new TreeMap<>();
+        specs.forEach((endpoint, spec) -> {
+            if (!spec.isBlank()) {
+                budgets.put(endpoint, parse(endpoint, spec));
+            }
+        });
+        return new LatencyBudgets(budgets);
+    }
+
+    /**
+     * The budget key of a property suffix: <code>/path</code> as is, <code>METHOD./path</code> as
+     * <code>"METHOD /path"</code>, the key {@link EndpointMetrics#histograms()} uses.
+     */
+    private static String key(String endpoint) {
+        int path = endpoint.indexOf('/');
+        if (path <= 0) {
+            return endpoint;
+        }
+        String method = endpoint.substring(0, path);
+        return (method.endsWith(".") ? method.substring(0, method.length() - 1) : method).trim() + " " + endpoint.substring(path);
+    }
+
+    private static List<Budget> parse(String endpoint, String spec) {
+        List<Budget> parsed = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] percentileAndLimit = part.trim().split(":");
+            try {
+                if (percentileAndLimit.length != 2
+                        || !(percentileAndLimit[0].startsWith("p") || percentileAndLimit[0].equals("max"))) {
+                    throw new NumberFormatException(part);
+                }
+                double percentile = percentileAndLimit[0].equals("max")
+                        ? 100
+                        : Double.parseDouble(percentileAndLimit[0].substring(1));
+                double limitMillis = Double.parseDouble(percentileAndLimit[1]);
+                if (percentile <= 0 || percentile > 100 || limitMillis < 0) {
+                    throw new NumberFormatException(part);
+                }
+                parsed.add(new Budget(percentile, limitMillis));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format(
+                        "Invalid latency budget '%s' for %s, expected e.g. p95:300 or max:1000", part.trim(), endpoint), e);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Checks every budget against the histograms recorded for its endpoint, keyed by
+     * <code>"METHOD /endpoint"</code> as {@link EndpointMetrics#histograms()} returns them.
+     */
+    public Evaluation evaluate(Map<String, LatencyHistogram> histograms) {
+        StringBuilder text = new StringBuilder(String.format("%-30s %8s %8s %8s %8s %8s  %s%n",
+                "Endpoint", "Requests", "p50 ms", "p95 ms", "p99 ms", "max ms", "Budgets"));
+        List<String> exceeded = new ArrayList<>();
+        int checked = 0;
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            String path = entry.getKey().substring(entry.getKey().indexOf(' ') + 1);
+            List<Budget> endpointBudgets = budgets.containsKey(entry.getKey())
+                    ? budgets.get(entry.getKey())
+                    : budgets.getOrDefault(path, List.of());
+            StringBuilder verdicts = new StringBuilder();
+            for (Budget budget : endpointBudgets) {
+                if (histogram.count() < budget.minimumRequests()) {
+                    verdicts.append(String.format("%s not checked (%d of %d requests)  ", budget.name(),
+                            histogram.count(), budget.minimumRequests()));
+                    continue;
+                }
+                double actual = millis(histogram.percentile(budget.percentile));
+                boolean met = actual <= budget.limitMillis;
+                checked++;
+                if (!met) {
+                    exceeded.add(String.format("%s %s = %.1f ms > %s ms", entry.getKey(), budget.name(), actual,
+                            format(budget.limitMillis)));
+                }
+                verdicts.append(String.format("%s %.1f %s %s ms%s  ", budget.name(), actual, met ? "<=" : ">",
+                        format(budget.limitMillis), met ? "" : " EXCEEDED"));
+            }
+            text.append(String.format("%-30s %8d %8.1f %8.1f %8.1f %8.1f  %s%n", entry.getKey(), histogram.count(),
+                    millis(histogram.percentile(50)), millis(histogram.percentile(95)),
+                    millis(histogram.percentile(99)), millis(histogram.max()), verdicts.toString().trim()));
+        }
+        String summary = String.format("Latency budgets: %d of %d checks exceeded", exceeded.size(), checked);
+        return new Evaluation(summary + System.lineSeparator() + text, exceeded);
+    }
+
+    private static double millis(long micros) {
+        return micros / (double) TimeUnit.MILLISECONDS.toMicros(1);
+    }
+
+    private static String format(double millis) {
+        return millis == Math.rint(millis) ? String.valueOf((long) millis) : String.valueOf(millis);
+    }
+
+    private static final class Budget {
+
+        private final double percentile;
+        private final double limitMillis;
+
+        Budget(double percentile, double limitMillis) {
+            this.percentile = percentile;
+            this.limitMillis = limitMillis;
+        }
+
+        String name() {
+            return percentile >= 100 ? "max" : "p" + format(percentile);
+        }
+
+        /**
+         * Requests needed before the percentile is more than the slowest request, e.g. 20 for p95.
+         */
+        long minimumRequests() {
+            return percentile >= 100 ? 1 : (long) Math.ceil(100 / (100 - percentile));
+        }
+    }
+
+    /**
+     * The per-endpoint breakdown of a run and the budgets it exceeded.
+     */
+    public static final class Evaluation {
+
+        private final String report;
+        private final List<String> exceeded;
+
+        Evaluation(String report, List<String> exceeded) {
+            this.report = report;
+            this.exceeded = Collections.unmodifiableList(exceeded);
+        }
+
+        public String report() {
+            return report;
+        }
+
+        /**
+         * One line per exceeded budget, e.g. <code>GET /api/productsList p95 = 412.0 ms &gt; 300 ms</code>.
+         */
+        public List<String> exceeded() {
+            return exceeded;
+        }
+    }
+}
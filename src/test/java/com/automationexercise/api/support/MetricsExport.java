@@ -0,0 +1,144 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h1>MetricsExport</h1>
+ *
+ * <p>Writes the {@link EndpointMetrics} of a run to <code>-Dapi.metrics.dir</code> (default
+ * {@link Config#DEFAULT_METRICS_DIRECTORY}) in two formats:</p>
+ * <ul>
+ *   <li><code>api-metrics.prom</code>, Prometheus text format, for the node exporter textfile collector or any
+ *       scraper: an <code>api_request_duration_seconds</code> histogram plus <code>api_responses_total</code>
+ *       (by status), <code>api_request_bytes_total</code> and <code>api_response_bytes_total</code>, all
+ *       labelled with <code>method</code> and <code>endpoint</code>.</li>
+ *   <li><code>api-metrics.csv</code>, one row per method and endpoint with request count, percentiles in
+ *       milliseconds, status counts and byte totals.</li>
+ * </ul>
+ *
+ * <p>Each file is written next to its final name and then moved over it, so a scraper never reads half a
+ * file.</p>
+ */
+public final class MetricsExport {
+
+    // Histogram bucket bounds in seconds, the Prometheus client defaults
+    private static final double[] BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private MetricsExport() {
+    }
+
+    public static Path directory() {
+        return Paths.get(System.getProperty(Config.METRICS_DIRECTORY_PROPERTY, Config.DEFAULT_METRICS_DIRECTORY));
+    }
+
+    /**
+     * Writes both files to {@link #directory()} and returns the directory.
+     */
+    public static Path write(Map<String, EndpointMetrics.Endpoint> endpoints) {
+        Path directory = directory();
+        try {
+            Files.createDirectories(directory);
+            replace(directory.resolve(Config.METRICS_PROMETHEUS_FILE), prometheus(endpoints));
+            replace(directory.resolve(Config.METRICS_CSV_FILE), csv(endpoints));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write metrics to " + directory.toAbsolutePath(), e);
+        }
+        return directory;
+    }
+
+    static String prometheus(Map<String, EndpointMetrics.Endpoint> endpoints) {
+        StringBuilder text = new StringBuilder();
+        text.append("# HELP api_request_duration_seconds Response time of API requests.\n");
+        text.append("# TYPE api_request_duration_seconds histogram\n");
+        endpoints.forEach((key, endpoint) -> {
+            String labels = labels(key);
+            LatencyHistogram latency = endpoint.latency();
+            for (double bound : BUCKETS) {
+                long count = latency.countAtOrBelow((long) (bound * TimeUnit.SECONDS.toMicros(1)));
+                text.append("api_request_duration_seconds_bucket{").append(labels).append(",le=\"")
+                        .append(number(bound)).append("\"} ").append(count).append('\n');
+            }
+            text.append("api_request_duration_seconds_bucket{").append(labels).append(",le=\"+Inf\"} ")
+                    .append(latency.count()).append('\n');
+            text.append("api_request_duration_seconds_sum{").append(labels).append("} ")
+                    .append(number(latency.sum() / (double) TimeUnit.SECONDS.toMicros(1))).append('\n');
+            text.append("api_request_duration_seconds_count{").append(labels).append("} ")
+                    .append(latency.count()).append('\n');
+        });
+        text.append("# HELP api_responses_total API responses by HTTP status; status 0 counts requests that failed without one.\n");
+        text.append("# TYPE api_responses_total counter\n");
+        endpoints.forEach((key, endpoint) -> endpoint.statuses().forEach((status, count) ->
+                text.append("api_responses_total{").append(labels(key)).append(",status=\"").append(status)
+                        .append("\"} ").append(count).append('\n')));
+        text.append("# HELP api_request_bytes_total Bytes sent in API request bodies and parameters.\n");
+        text.append("# TYPE api_request_bytes_total counter\n");
+        endpoints.forEach((key, endpoint) -> text.append("api_request_bytes_total{").append(labels(key)).append("} ")
+                .append(endpoint.requestBytes()).append('\n'));
+        text.append("# HELP api_response_bytes_total Bytes received in API response bodies.\n");
+        text.append("# TYPE api_response_bytes_total counter\n");
+        endpoints.forEach((key, endpoint) -> text.append("api_response_bytes_total{").append(labels(key)).append("} ")
+                .append(endpoint.responseBytes()).append('\n'));
+        text.append("# HELP api_metrics_timestamp_seconds When these metrics were written.\n");
+        text.append("# TYPE api_metrics_timestamp_seconds gauge\n");
+        text.append("api_metrics_timestamp_seconds ").append(System.currentTimeMillis() / 1000).append('\n');
+        return text.toString();
+    }
+
+    static String csv(Map<String, EndpointMetrics.Endpoint> endpoints) {
+        StringBuilder text = new StringBuilder(
+                "method,endpoint,requests,p50_ms,p90_ms,p95_ms,p99_ms,max_ms,mean_ms,statuses,request_bytes,response_bytes\n");
+        endpoints.forEach((key, endpoint) -> {
+            LatencyHistogram latency = endpoint.latency();
+            StringBuilder statuses = new StringBuilder();
+            endpoint.statuses().forEach((status, count) ->
+                    statuses.append(statuses.length() == 0 ? "" : " ").append(status).append(':').append(count));
+            text.append(key, 0, key.indexOf(' ')).append(',').append(key.substring(key.indexOf(' ') + 1))
+                    .append(',').append(latency.count())
+                    .append(',').append(millis(latency.percentile(50)))
+                    .append(',').append(millis(latency.percentile(90)))
+                    .append(',').append(millis(latency.percentile(95)))
+                    .append(',').append(millis(latency.percentile(99)))
+                    .append(',').append(millis(latency.max()))
+                    .append(',').append(millis((long) latency.mean()))
+                    .append(',').append(statuses)
+                    .append(',').append(endpoint.requestBytes())
+                    .append(',').append(endpoint.responseBytes()).append('\n');
+        });
+        return text.toString();
+    }
+
+    private static void replace(Path file, String content) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.writeString(temporary, content, StandardCharsets.UTF_8);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String labels(String key) {
+        return "method=\"" + escape(key.substring(0, key.indexOf(' '))) + "\",endpoint=\""
+                + escape(key.substring(key.indexOf(' ') + 1)) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.1f", micros / (double) TimeUnit.MILLISECONDS.toMicros(1));
+    }
+
+    private static String number(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+}
@@ -0,0 +1,261 @@
+package com.automationexercise.api.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * <h1>Reconciler</h1>
+ *
+ * <p>Compares an expected dataset (the rows of a CSV file) with a JSON array from a response by hash-joining
+ * both on a key: the array is indexed by key once, then every expected row is looked up and compared field by
+ * field. One pass reports every missing element, extra element, mismatched field and duplicate expected key as a
+ * {@link Result}, at a cost of O(rows + elements) instead of one GPath search per cell.</p>
+ *
+ * <p>A check is described by data only: the key column and, for each compared column, the dotted path of the
+ * value inside an array element. Values are compared as strings; empty CSV cells match empty strings.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * private static final Reconciler BRANDS = Reconciler.keyedBy("Brand ID", "id")
+ *         .field("Name", "brand");
+ *
+ * Reconciler.Result result = BRANDS.reconcile(Datasets.rows(Config.BRANDS_CSV_PATH),
+ *         json(response).getList("brands"));
+ * assertThat(result.describe("1"), result.differences("1"), empty());
+ * </pre>
+ */
+public final class Reconciler {
+
+    private final String keyColumn;
+    private final String[] keyPath;
+    private final Map<String, String[]> fields;
+
+    private Reconciler(String keyColumn, String[] keyPath, Map<String, String[]> fields) {
+        this.keyColumn = keyColumn;
+        this.keyPath = keyPath;
+        this.fields = fields;
+    }
+
+    /**
+     * Starts a check joining the CSV column <code>keyColumn</code> with the element value at <code>keyPath</code>.
+     * The key itself is always compared.
+     */
+    public static Reconciler keyedBy(String keyColumn, String keyPath) {
+        Map<String, String[]> fields = new LinkedHashMap<>();
+        fields.put(keyColumn, keyPath.split("\\."));
+        return new Reconciler(keyColumn, keyPath.split("\\."), fields);
+    }
+
+    /**
+     * Returns a copy of this check that also compares the CSV column <code>column</code> with the element value
+     * at the dotted <code>path</code>, e.g. <code>category.usertype.usertype</code>.
+     */
+    public Reconciler field(String column, String path) {
+        Map<String, String[]> extended = new LinkedHashMap<>(fields);
+        extended.put(column, path.split("\\."));
+        return new Reconciler(keyColumn, keyPath, extended);
+    }
+
+    /**
+     * Joins <code>expected</code> with <code>actual</code> and collects every difference.
+     */
+    public Result reconcile(List<Map<String, String>> expected, List<? extends Map<String, ?>> actual) {
+        // Build side: index the response array by key; the first element wins, as with GPath find
+        Map<String, Map<String, ?>> index = new HashMap<>((int) (actual.size() / 0.75f) + 1);
+        for (Map<String, ?> element : actual) {
+            index.putIfAbsent(text(resolve(element, keyPath)), element);
+        }
+
+        // Probe side: one lookup per expected row. A key seen before is reported as a duplicate and keeps the
+        // differences of its first row.
+        Map<String, List<Difference>> byKey = new LinkedHashMap<>();
+        Set<String> matched = new HashSet<>();
+        for (Map<String, String> row : expected) {
+            String key = row.get(keyColumn);
+            List<Difference> seen = byKey.get(key);
+            if (seen != null) {
+                seen.add(new Difference(Difference.Kind.DUPLICATE, key, null, null, null));
+                continue;
+            }
+            List<Difference> differences = new ArrayList<>();
+            Map<String, ?> element = index.get(key);
+            if (element == null) {
+                differences.add(new Difference(Difference.Kind.MISSING, key, null, null, null));
+            } else {
+                for (Map.Entry<String, String[]> field : fields.entrySet()) {
+                    String expectedValue = Objects.toString(row.get(field.getKey()), "");
+                    String actualValue = text(resolve(element, field.getValue()));
+                    if (!expectedValue.equals(Objects.toString(actualValue, ""))) {
+                        differences.add(new Difference(Difference.Kind.MISMATCH, key,
+                                String.join(".", field.getValue()), expectedValue, actualValue));
+                    }
+                }
+                matched.add(key);
+            }
+            byKey.put(key, differences);
+        }
+
+        // Whatever no expected row matched was not expected
+        List<Difference> extra = new ArrayList<>();
+        for (String key : index.keySet()) {
+            if (!matched.contains(key)) {
+                extra.add(new Difference(Difference.Kind.EXTRA, key, null, null, null));
+            }
+        }
+        return new Result(byKey, extra);
+    }
+
+
+    private static Object resolve(Map<String, ?> element, String[] path) {
+        Object value = element;
+        for (String segment : path) {
+            if (!(value instanceof Map)) {
+                return null;
+            }
+            value = ((Map<?, ?>) value).get(segment);
+        }
+        return value;
+    }
+
+    private static String text(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * One difference between the expected dataset and the response.
+     */
+    public static final class Difference {
+
+        public enum Kind { MISSING, EXTRA, MISMATCH, DUPLICATE }
+
+        private final Kind kind;
+        private final String key;
+        private final String field;
+        private final String expected;
+        private final String actual;
+
+        Difference(Kind kind, String key, String field, String expected, String actual) {
+            this.kind = kind;
+            this.key = key;
+            this.field = field;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public String field() {
+            return field;
+        }
+
+        public String expected() {
+            return expected;
+        }
+
+        public String actual() {
+            return actual;
+        }
+
+        @Override
+        public String toString() {
+            switch (kind) {
+                case MISSING:
+                    return key + ": missing from the response";
+                case EXTRA:
+                    return key + ": not in the expected data";
+                case DUPLICATE:
+                    return key + ": more than one expected row has this key";
+                default:
+                    return String.format("%s: %s expected '%s' but was '%s'", key, field, expected, actual);
+            }
+        }
+    }
+
+    /**
+     * The outcome of one reconciliation: the differences of every expected row, and the unexpected elements.
+     */
+    public static final class Result {
+
+        private final Map<String, List<Difference>> byKey;
+        private final List<Difference> extra;
+
+        Result(Map<String, List<Difference>> byKey, List<Difference> extra) {
+            this.byKey = byKey;
+            this.extra = Collections.unmodifiableList(extra);
+        }
+
+        /**
+         * The differences found for the expected row with this key; empty when the row matched.
+         *
+         * @throws IllegalArgumentException if no expected row has this key, so a mistyped key cannot pass
+         *                                  without anything being checked
+         */
+        public List<Difference> differences(String key) {
+            List<Difference> differences = byKey.get(key);
+            if (differences == null) {
+                throw new IllegalArgumentException("No expected row has the key '" + key + "'; expected keys: "
+                        + byKey.keySet());
+            }
+            return Collections.unmodifiableList(differences);
+        }
+
+        public List<Difference> missing() {
+            return collect(Difference.Kind.MISSING);
+        }
+
+        public List<Difference> mismatches() {
+            return collect(Difference.Kind.MISMATCH);
+        }
+
+        public List<Difference> duplicates() {
+            return collect(Difference.Kind.DUPLICATE);
+        }
+
+        public List<Difference> extra() {
+            return extra;
+        }
+
+        /**
+         * An assertion message listing the differences of one row.
+         */
+        public String describe(String key) {
+            List<String> lines = new ArrayList<>();
+            for (Difference difference : differences(key)) {
+                lines.add(difference.toString());
+            }
+            return "Differences for " + key + ":" + System.lineSeparator() + " - "
+                    + String.join(System.lineSeparator() + " - ", lines);
+        }
+
+        private List<Difference> collect(Difference.Kind kind) {
+            List<Difference> found = new ArrayList<>();
+            for (List<Difference> differences : byKey.values()) {
+                for (Difference difference : differences) {
+                    if (difference.kind() == kind) {
+                        found.add(difference);
+                    }
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Reconciliation: %d expected rows, %d missing, %d mismatched fields, %d extra, %d duplicate keys",
+                    byKey.size(), missing().size(), mismatches().size(), extra.size(), duplicates().size());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.automationexercise.api.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * <h1>ReconcilerTest</h1>
+ *
+ * <p>This test class verifies how a {@link Reconciler} joins expected rows with the elements of a response array,
+ * on literal data, without calling the API.</p>
+ *
+ * <p>The tests in this class perform the following verifications:</p>
+ * <ol>
+ *   <li>Matching rows have no differences; missing elements, extra elements and mismatched fields are reported.</li>
+ *   <li>A duplicate expected key is reported as such and does not hide the first row's differences.</li>
+ *   <li>Looking up a key that no expected row has is rejected.</li>
+ * </ol>
+ */
+public class ReconcilerTest {
+
+    private static final Reconciler BRANDS = Reconciler.keyedBy("Brand ID", "id")
+            .field("Name", "brand");
+
+    private static final List<Map<String, ?>> RESPONSE = List.of(
+            Map.of("id", 1, "brand", "Polo"),
+            Map.of("id", 2, "brand", "H&M"),
+            Map.of("id", 3, "brand", "Madame"));
+
+    @Test
+    @DisplayName("Report missing, extra and mismatched elements")
+    void reportDifferences() {
+        Reconciler.Result result = BRANDS.reconcile(List.of(
+                Map.of("Brand ID", "1", "Name", "Polo"),
+                Map.of("Brand ID", "2", "Name", "Biba"),
+                Map.of("Brand ID", "4", "Name", "Babyhug")), RESPONSE);
+
+        assertThat("Expected no differences for 1", result.differences("1"), empty());
+        assertThat("Expected the mismatch of 2", result.differences("2").toString(),
+                containsString("2: brand expected 'Biba' but was 'H&M'"));
+        assertThat("Expected 4 to be missing", result.missing().get(0).key(), equalTo("4"));
+        assertThat("Expected 3 to be extra", result.extra().get(0).key(), equalTo("3"));
+    }
+
+    /**
+     * The second row with key 2 used to find the element already consumed, report it missing, and replace the
+     * first row's mismatch.
+     */
+    @Test
+    @DisplayName("Report duplicate expected keys without a false missing element")
+    void reportDuplicateKeys() {
+        Reconciler.Result result = BRANDS.reconcile(List.of(
+                Map.of("Brand ID", "2", "Name", "Biba"),
+                Map.of("Brand ID", "2", "Name", "H&M")), RESPONSE);
+
+        List<Reconciler.Difference> differences = result.differences("2");
+        assertThat("Expected the first row's mismatch, then the duplicate",
+                List.of(differences.get(0).kind(), differences.get(1).kind()),
+                contains(Reconciler.Difference.Kind.MISMATCH, Reconciler.Difference.Kind.DUPLICATE));
+        assertThat("Expected nothing missing", result.missing(), empty());
+        assertThat("Expected one duplicate", result.duplicates().size(), equalTo(1));
+        assertThat("Expected only 1 and 3 to be extra",
+                List.of(result.extra().get(0).key(), result.extra().get(1).key()), containsInAnyOrder("1", "3"));
+    }
+
+    @Test
+    @DisplayName("Reject a key that no expected row has")
+    void rejectUnknownKey() {
+        Reconciler.Result result = BRANDS.reconcile(List.of(Map.of("Brand ID", "1", "Name", "Polo")), RESPONSE);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> result.differences(" 1"));
+        assertThat("Expected the key in the message", e.getMessage(), containsString("' 1'"));
+    }
+}
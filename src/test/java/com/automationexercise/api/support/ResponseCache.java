@@ -0,0 +1,246 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <h1>ResponseCache</h1>
+ *
+ * <p>A RestAssured filter that shares the GET responses of {@link Config#CACHEABLE_ENDPOINTS} (the product and
+ * brand lists) across all test classes of the run, so the large list bodies are transferred once instead of
+ * once per class.</p>
+ * <ul>
+ *   <li><strong>Single flight:</strong> concurrent identical requests wait for the one in flight instead of
+ *       sending their own, the same way {@link CompiledPaths} compiles a new expression once.</li>
+ *   <li><strong>Expiry:</strong> a response is served for <code>-Dapi.cache.ttlMs</code> (default
+ *       {@link Config#DEFAULT_CACHE_TTL_MS}). After that the next request revalidates it with
+ *       <code>If-None-Match</code> / <code>If-Modified-Since</code> when the server sent an <code>ETag</code> /
+ *       <code>Last-Modified</code>, and keeps the cached response on a 304; otherwise it fetches it again.</li>
+ *   <li><strong>Bounded:</strong> at most <code>-Dapi.cache.maxEntries</code> (default
+ *       {@link Config#DEFAULT_CACHE_MAX_ENTRIES}) responses are kept, evicting the least recently used.</li>
+ * </ul>
+ *
+ * <p>Every class is handed the same {@link Response} instance, so {@link JsonBody} parses the body once for all
+ * of them. Only complete 200 responses are kept; errors and other statuses are passed on and the next request
+ * is sent again. Cached answers never reach the filters behind this one, so {@link EndpointMetrics} only times
+ * requests that went over the network. {@link #stats()} is part of the run report.</p>
+ */
+public final class ResponseCache implements OrderedFilter {
+
+    private static final ResponseCache INSTANCE = new ResponseCache();
+
+    private static final long TTL_NANOS = TimeUnit.MILLISECONDS.toNanos(
+            Long.getLong(Config.CACHE_TTL_MS_PROPERTY, Config.DEFAULT_CACHE_TTL_MS));
+    private static final int MAX_ENTRIES = Integer.getInteger(Config.CACHE_MAX_ENTRIES_PROPERTY, Config.DEFAULT_CACHE_MAX_ENTRIES);
+
+    private static final Map<String, Entry> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            if (size() > MAX_ENTRIES) {
+                EVICTIONS.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong COALESCED = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong REVALIDATED = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private ResponseCache() {
+    }
+
+    public static ResponseCache filter() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        if (!"GET".equals(request.getMethod()) || !Config.CACHEABLE_ENDPOINTS.contains(request.getUserDefinedPath())) {
+            return context.next(request, responseSpec);
+        }
+        String key = Cassette.key(request);
+        Entry entry;
+        boolean fetchHere = false;
+        synchronized (CACHE) {
+            entry = CACHE.get(key);
+            if (entry == null || entry.expired()) {
+                Response stale = entry == null ? null : entry.response();
+                entry = new Entry(new FutureTask<>(() -> fetch(request, responseSpec, context, stale)));
+                CACHE.put(key, entry);
+                fetchHere = true;
+            }
+        }
+        if (fetchHere) {
+            entry.task.run();
+        } else if (entry.task.isDone()) {
+            HITS.incrementAndGet();
+        } else {
+            COALESCED.incrementAndGet();
+        }
+        try {
+            Response response = entry.task.get();
+            if (response.getStatusCode() != 200) {
+                synchronized (CACHE) {
+                    CACHE.remove(key, entry);
+                }
+            }
+            return response;
+        } catch (ExecutionException e) {
+            synchronized (CACHE) {
+                CACHE.remove(key, entry);
+            }
+            // Surface the failure exactly as RestAssured would have thrown it without the cache
+            throw ResponseCache.<RuntimeException>rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + key, e);
+        }
+    }
+
+    /**
+     * Sends the request, conditionally when a stale response with validators is at hand, and reads the body
+     * completely so the response can be shared between threads.
+     */
+    private static Response fetch(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+                                  FilterContext context, Response stale) {
+        String etag = stale == null ? null : stale.header("ETag");
+        String lastModified = stale == null ? null : stale.header("Last-Modified");
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        if (lastModified != null) {
+            request.header("If-Modified-Since", lastModified);
+        }
+        Response response = context.next(request, responseSpec);
+        if (response.getStatusCode() == 304 && stale != null) {
+            REVALIDATED.incrementAndGet();
+            return stale;
+        }
+        MISSES.incrementAndGet();
+        response.asByteArray();
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> T rethrow(Throwable failure) throws T {
+        throw (T) failure;
+    }
+
+    @Override
+    public int getOrder() {
+        // Before every other filter, so a cached answer skips them together with the network
+        return OrderedFilter.HIGHEST_PRECEDENCE;
+    }
+
+    public static Stats stats() {
+        int size;
+        synchronized (CACHE) {
+            size = CACHE.size();
+        }
+        return new Stats(HITS.get(), COALESCED.get(), MISSES.get(), REVALIDATED.get(), EVICTIONS.get(), size);
+    }
+
+    private static final class Entry {
+
+        private final FutureTask<Response> task;
+        // When the request was sent; an entry still in flight never expires
+        private final long fetchedAt = System.nanoTime();
+
+        Entry(FutureTask<Response> task) {
+            this.task = task;
+        }
+
+        boolean expired() {
+            return task.isDone() && System.nanoTime() - fetchedAt > TTL_NANOS;
+        }
+
+        // The completed response, or null if the fetch failed
+        Response response() {
+            try {
+                return task.isDone() ? task.get() : null;
+            } catch (ExecutionException | InterruptedException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     */
+    public static final class Stats {
+
+        private final long hits;
+        private final long coalesced;
+        private final long misses;
+        private final long revalidated;
+        private final long evictions;
+        private final int size;
+
+        Stats(long hits, long coalesced, long misses, long revalidated, long evictions, int size) {
+            this.hits = hits;
+            this.coalesced = coalesced;
+            this.misses = misses;
+            this.revalidated = revalidated;
+            this.evictions = evictions;
+            this.size = size;
+        }
+
+        public long hits() {
+            return hits;
+        }
+
+        /**
+         * Requests that waited for an identical request already in flight.
+         */
+        public long coalesced() {
+            return coalesced;
+        }
+
+        public long misses() {
+            return misses;
+        }
+
+        /**
+         * Expired responses the server confirmed unchanged with a 304.
+         */
+        public long revalidated() {
+            return revalidated;
+        }
+
+        public long evictions() {
+            return evictions;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public double hitRatio() {
+            long lookups = hits + coalesced + misses + revalidated;
+            return lookups == 0 ? 0.0 : (double) (hits + coalesced + revalidated) / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Response cache: %d hits, %d coalesced, %d misses, %d revalidated (%.1f%% served "
+                            + "without a body transfer), %d evictions, %d responses cached",
+                    hits, coalesced, misses, revalidated, hitRatio() * 100, evictions, size);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.automationexercise.api.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * <h1>ShardPlan</h1>
+ *
+ * <p>Splits test classes into shards of near-equal expected duration, so CI nodes running one shard each finish
+ * at about the same time. Classes with a known duration are taken longest first and each goes to the shard with
+ * the least expected duration so far (the LPT heuristic, at most a third worse than the best possible split).
+ * Ties are broken by class name and shard index, so the same durations always give the same plan on every
+ * node.</p>
+ *
+ * <p>A class without a known duration, e.g. one added since the history was last learned, goes to the shard
+ * picked by the hash of its name. That is stable across JVMs, so nodes agree on it without knowing about each
+ * other's classes. On a cold start every class is placed that way, which splits them roughly evenly by
+ * count.</p>
+ */
+public final class ShardPlan {
+
+    private final List<List<String>> shards;
+    private final long[] expectedMillis;
+    private final Map<String, Integer> shardOf = new HashMap<>();
+
+    private ShardPlan(int count) {
+        shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shards.add(new ArrayList<>());
+        }
+        expectedMillis = new long[count];
+    }
+
+    /**
+     * Splits the classes of <code>durations</code> (expected milliseconds per class name) into
+     * <code>count</code> shards.
+     */
+    public static ShardPlan of(Map<String, Long> durations, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1, not " + count);
+        }
+        List<String> ordered = new ArrayList<>(new TreeSet<>(durations.keySet()));
+        ordered.sort(Comparator.comparingLong((String className) -> durations.get(className))
+                .reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        ShardPlan plan = new ShardPlan(count);
+        for (String className : ordered) {
+            int lightest = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (plan.expectedMillis[shard] < plan.expectedMillis[lightest]) {
+                    lightest = shard;
+                }
+            }
+            plan.shards.get(lightest).add(className);
+            plan.expectedMillis[lightest] += durations.get(className);
+            plan.shardOf.put(className, lightest);
+        }
+        return plan;
+    }
+
+    public int count() {
+        return shards.size();
+    }
+
+    /**
+     * The 0-based shard of <code>className</code>.
+     */
+    public int shardOf(String className) {
+        Integer shard = shardOf.get(className);
+        return shard != null ? shard : Math.floorMod(className.hashCode(), shards.size());
+    }
+
+    /**
+     * The classes of known duration in the 0-based <code>shard</code>, longest first.
+     */
+    public List<String> classes(int shard) {
+        return Collections.unmodifiableList(shards.get(shard));
+    }
+
+    public long expectedMillis(int shard) {
+        return expectedMillis[shard];
+    }
+
+    /**
+     * One line per shard with its class count and expected duration, e.g.
+     * <code>shard 1: 5 classes, 4.2 s expected</code>.
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            text.append(String.format("%n  shard %d: %d classes, %.1f s expected",
+                    shard + 1, shards.get(shard).size(), expectedMillis[shard] / 1000.0));
+        }
+        return text.toString();
+    }
+}
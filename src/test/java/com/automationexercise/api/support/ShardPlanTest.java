@@ -0,0 +1,94 @@
+package com.automationexercise.api.support;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * <h1>ShardPlanTest</h1>
+ *
+ * <p>This test class verifies how a {@link ShardPlan} splits test classes into shards. The plan is a pure
+ * function of the durations and the shard count, so no API is called.</p>
+ *
+ * <p>The tests in this class perform the following verifications:</p>
+ * <ol>
+ *   <li>Classes are taken longest first and each goes to the shard with the least expected duration.</li>
+ *   <li>Equal durations and equally loaded shards are resolved by class name and shard index.</li>
+ *   <li>Classes without a known duration go to the shard picked by the hash of their name, in every plan.</li>
+ *   <li>A shard count below 1 is rejected.</li>
+ * </ol>
+ */
+public class ShardPlanTest {
+
+    /**
+     * LPT: 10 and 8 open the two shards, 6 joins the 8, 5 the 10 and 4 the lighter shard of 15 and 14.
+     */
+    @Test
+    @DisplayName("Assign classes longest first to the least loaded shard")
+    void assignLongestFirstToLeastLoadedShard() {
+        ShardPlan plan = ShardPlan.of(Map.of("A", 10L, "B", 8L, "C", 6L, "D", 5L, "E", 4L), 2);
+
+        assertThat("Expected 2 shards", plan.count(), equalTo(2));
+        assertThat("Expected classes of shard 1", plan.classes(0), contains("A", "D"));
+        assertThat("Expected classes of shard 2", plan.classes(1), contains("B", "C", "E"));
+        assertThat("Expected duration of shard 1", plan.expectedMillis(0), equalTo(15L));
+        assertThat("Expected duration of shard 2", plan.expectedMillis(1), equalTo(18L));
+        assertThat("Expected shard of D", plan.shardOf("D"), equalTo(0));
+        assertThat("Expected shard of E", plan.shardOf("E"), equalTo(1));
+    }
+
+    /**
+     * Equal durations are taken in name order and equally loaded shards are filled lowest index first.
+     */
+    @Test
+    @DisplayName("Break ties by class name and shard index")
+    void breakTiesByNameAndIndex() {
+        ShardPlan plan = ShardPlan.of(Map.of("Z", 5L, "Y", 5L, "X", 5L), 3);
+
+        assertThat("Expected shard of X", plan.shardOf("X"), equalTo(0));
+        assertThat("Expected shard of Y", plan.shardOf("Y"), equalTo(1));
+        assertThat("Expected shard of Z", plan.shardOf("Z"), equalTo(2));
+    }
+
+    /**
+     * Nodes whose histories differ still agree on where a class of unknown duration runs.
+     */
+    @Test
+    @DisplayName("Place classes without a duration by the hash of their name")
+    void placeUnknownClassesByNameHash() {
+        String className = "com.automationexercise.api.NewTest";
+        int expected = Math.floorMod(className.hashCode(), 3);
+
+        assertThat("Expected shard on a cold start",
+                ShardPlan.of(Map.of(), 3).shardOf(className), equalTo(expected));
+        assertThat("Expected the same shard with other classes known",
+                ShardPlan.of(Map.of("A", 10L, "B", 8L), 3).shardOf(className), equalTo(expected));
+        assertThat("Expected no class of known duration on a cold start",
+                ShardPlan.of(Map.of(), 3).classes(0), equalTo(List.of()));
+    }
+
+    @Test
+    @DisplayName("Describe the expected duration of every shard")
+    void describeEveryShard() {
+        ShardPlan plan = ShardPlan.of(Map.of("A", 1500L), 2);
+
+        assertThat("Expected shard 1 in the description", plan.toString(), containsString("shard 1: 1 classes, 1.5 s expected"));
+        assertThat("Expected shard 2 in the description", plan.toString(), containsString("shard 2: 0 classes, 0.0 s expected"));
+    }
+
+    @Test
+    @DisplayName("Reject a shard count below 1")
+    void rejectShardCountBelowOne() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> ShardPlan.of(Map.of(), 0));
+
+        assertThat("Expected the count in the message", e.getMessage(), containsString("not 0"));
+    }
+}
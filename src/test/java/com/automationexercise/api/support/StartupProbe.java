@@ -0,0 +1,39 @@
+package com.automationexercise.api.support;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * <h1>StartupProbe</h1>
+ *
+ * <p>Records how long after JVM start, and with how many classes loaded, the first response body was read by an
+ * assertion. Running a single test class and comparing these numbers shows the start-up cost of the JSON
+ * assertion layer, e.g. whether reading a field forced Groovy's compiler to load.</p>
+ */
+public final class StartupProbe {
+
+    private static volatile String firstRead;
+
+    private StartupProbe() {
+    }
+
+    /**
+     * Called on every body read; only the first call takes the snapshot.
+     */
+    static void bodyRead() {
+        if (firstRead == null) {
+            synchronized (StartupProbe.class) {
+                if (firstRead == null) {
+                    firstRead = String.format("Time to first assertion: %d ms after JVM start, %d classes loaded, "
+                                    + "%d path expressions compiled",
+                            ManagementFactory.getRuntimeMXBean().getUptime(),
+                            ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount(),
+                            CompiledPaths.stats().misses());
+                }
+            }
+        }
+    }
+
+    public static String report() {
+        return firstRead == null ? "Time to first assertion: no response body was read" : firstRead;
+    }
+}
@@ -0,0 +1,57 @@
+package com.automationexercise.api.support;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <h1>SyntheticData</h1>
+ *
+ * <p>Generated arguments for high-volume data-driven runs, for volumes that should not live in a CSV file in
+ * git. Rows are produced lazily, one per invocation, so memory use does not grow with the row count.</p>
+ *
+ * <ul>
+ *   <li>{@link Kind#USERS}: one {@link UserRecord} per invocation, shaped like a row of
+ *       <code>create_user_data.csv</code>, with a unique email.</li>
+ *   <li>{@link Kind#SEARCH_TERMS}: one search term (<code>String</code>) per invocation.</li>
+ * </ul>
+ *
+ * <p>The number of rows and the seed come from <code>-Dapi.synthetic.rows</code> and
+ * <code>-Dapi.synthetic.seed</code> unless set on the annotation. Every field is a pure function of the seed and
+ * the row index (the email also of the consuming test, see {@link SyntheticDataProvider}), so a failing row can
+ * be reproduced and a recorded cassette replays.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * &#64;ParameterizedTest(name = "{index} - Create account for Email: {0}")
+ * &#64;SyntheticData(SyntheticData.Kind.USERS)
+ * void createAccount(UserRecord user) { ... }
+ * </pre>
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(SyntheticDataProvider.class)
+public @interface SyntheticData {
+
+    Kind value();
+
+    /**
+     * Number of rows; a negative value uses <code>-Dapi.synthetic.rows</code>.
+     */
+    long rows() default -1;
+
+    /**
+     * Seed of the generated values; {@link Long#MIN_VALUE} uses <code>-Dapi.synthetic.seed</code>.
+     */
+    long seed() default Long.MIN_VALUE;
+
+    enum Kind {
+        USERS,
+        SEARCH_TERMS
+    }
+}
@@ -0,0 +1,124 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * <h1>SyntheticDataProvider</h1>
+ *
+ * <p>Generates the rows of a {@link SyntheticData} source. Row <code>i</code> is built from its own
+ * <code>SplittableRandom</code>, seeded from the source seed and <code>i</code>, so rows are independent of
+ * each other and of the order in which they are consumed, and nothing but the current row is kept.</p>
+ *
+ * <p>Emails have the form <code>synthetic.&lt;seed&gt;.&lt;source&gt;.&lt;i&gt;@example.com</code>, where
+ * <code>source</code> is a hash of the unique id of the test consuming the source. Several synthetic sources
+ * consumed at the same time, by parallel classes or methods, therefore never generate the same email, and a
+ * row's email is the same in every run, so a recorded cassette replays it. Like the CSV fixtures, the email is
+ * scoped to the run by {@link FixtureNamespace}, so concurrent runs with the same seed do not collide
+ * either.</p>
+ */
+class SyntheticDataProvider implements ArgumentsProvider, AnnotationConsumer<SyntheticData> {
+
+    private static final String[] TITLES = {"Mr", "Mrs", "Miss"};
+    private static final String[] FIRST_NAMES = {
+            "Katie", "Daniel", "Amelia", "Oliver", "Priya", "Noah", "Sofia", "Arjun", "Emma", "Liam", "Chloe", "Ravi"};
+    private static final String[] LAST_NAMES = {
+            "Hulme", "Hill", "Smith", "Patel", "Jones", "Garcia", "Brown", "Khan", "Taylor", "Wilson", "Singh", "Evans"};
+    private static final String[] COMPANIES = {"Sparta", "NewCompany", "Acme", "Globex", "Initech", "Umbrella", ""};
+    private static final String[] STREETS = {"High Street", "Station Road", "Main Street", "Park Lane", "Church Road"};
+    // Countries offered by the registration form of the site, with a state and city each
+    private static final String[][] LOCATIONS = {
+            {"India", "Maharashtra", "Mumbai"},
+            {"United States", "New York", "New York"},
+            {"Canada", "Ontario", "Toronto"},
+            {"Australia", "Victoria", "Melbourne"},
+            {"Israel", "Tel Aviv", "Tel Aviv"},
+            {"New Zealand", "Auckland", "Auckland"},
+            {"Singapore", "Singapore", "Singapore"}};
+    private static final String[] SEARCH_WORDS = {
+            "top", "tops", "tshirt", "shirt", "dress", "saree", "jean", "jeans", "blue", "cotton", "polo", "women",
+            "men", "kids", "winter", "summer", "sleeveless", "stylish", "fancy", "green", "pink"};
+
+    private SyntheticData.Kind kind;
+    private long rows;
+    private long seed;
+
+    @Override
+    public void accept(SyntheticData annotation) {
+        this.kind = annotation.value();
+        this.rows = annotation.rows() >= 0 ? annotation.rows() : Long.getLong(Config.SYNTHETIC_ROWS_PROPERTY, 0L);
+        this.seed = annotation.seed() != Long.MIN_VALUE
+                ? annotation.seed()
+                : Long.getLong(Config.SYNTHETIC_SEED_PROPERTY, Config.DEFAULT_SYNTHETIC_SEED);
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) {
+        String source = Integer.toUnsignedString(context.getUniqueId().hashCode(), 36);
+        return LongStream.range(0, rows).mapToObj(index -> {
+            // Golden-ratio increment spreads consecutive indexes over the seed space
+            SplittableRandom random = new SplittableRandom(seed + index * 0x9E3779B97F4A7C15L);
+            return kind == SyntheticData.Kind.USERS
+                    ? Arguments.of(user(random, source + "." + index))
+                    : Arguments.of(searchTerm(random));
+        });
+    }
+
+    private UserRecord user(SplittableRandom random, String row) {
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        String[] location = LOCATIONS[random.nextInt(LOCATIONS.length)];
+        String email = FixtureNamespace.email("synthetic." + seed + "." + row + "@" + Config.SYNTHETIC_EMAIL_DOMAIN);
+        return UserRecord.of(
+                "synthetic" + firstName,
+                email,
+                digits(random, 9),
+                pick(random, TITLES),
+                String.valueOf(1 + random.nextInt(28)),
+                String.valueOf(1 + random.nextInt(12)),
+                String.valueOf(1950 + random.nextInt(56)),
+                firstName,
+                lastName,
+                pick(random, COMPANIES),
+                (1 + random.nextInt(250)) + " " + pick(random, STREETS),
+                random.nextInt(3) == 0 ? "Flat " + (1 + random.nextInt(40)) : "",
+                location[0],
+                digits(random, 5),
+                location[1],
+                location[2],
+                digits(random, 10));
+    }
+
+    private static String searchTerm(SplittableRandom random) {
+        String term = pick(random, SEARCH_WORDS);
+        switch (random.nextInt(3)) {
+            case 0:
+                return term.toUpperCase(Locale.ROOT);
+            case 1:
+                return Character.toUpperCase(term.charAt(0)) + term.substring(1);
+            default:
+                return term;
+        }
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String digits(SplittableRandom random, int length) {
+        char[] digits = new char[length];
+        digits[0] = (char) ('1' + random.nextInt(9));
+        for (int i = 1; i < length; i++) {
+            digits[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(digits);
+    }
+}
@@ -0,0 +1,206 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.config.Config;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <h1>UserFixturePool</h1>
+ *
+ * <p>JVM-wide pool of the user accounts listed in the fixture CSVs. Instead of every user test class creating
+ * and deleting the same accounts, classes lease them from the pool: accounts are provisioned once, handed to
+ * each class that needs them, and deleted once when the whole suite has finished.</p>
+ *
+ * <p>Three kinds of lease are supported:</p>
+ * <ul>
+ *   <li>{@link Access#READ}: the accounts must exist and the class only reads them (login, lookup). Any number
+ *       of read leases can be held at the same time.</li>
+ *   <li>{@link Access#EXCLUSIVE}: the accounts must exist and the class may modify or delete them. Once it is
+ *       released the accounts are reconciled with the CSV before the next lease.</li>
+ *   <li>{@link Access#ABSENT}: the accounts must not exist, e.g. to test account creation.</li>
+ * </ul>
+ *
+ * <p>Whenever the pool does not know what the server holds (at the start of a run, possibly after a crashed one,
+ * or after an exclusive or absent lease) it reconciles the accounts through
+ * {@link FixtureProvisioner#ensureUsers(List)} / {@link FixtureProvisioner#removeUsers(List)}, which look each
+ * account up and only send the creates, updates or deletes that are needed. When it does know, it sends the
+ * requests directly without looking anything up.</p>
+ *
+ * <p>Scheduling is left to JUnit: classes declare <code>@ResourceLock</code> on the CSV's lock key
+ * (see {@link Config#CREATE_USER_ACCOUNTS_LOCK}) with mode <code>READ</code> for read leases and
+ * <code>READ_WRITE</code> otherwise. The pool checks that leases never overlap illegally and fails fast if a
+ * class forgot its lock.</p>
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * &#64;BeforeAll
+ * void createTestUsers() {
+ *     users = UserFixturePool.lease(Config.CREATE_USER_CSV_PATH, UserFixturePool.Access.READ);
+ * }
+ *
+ * &#64;AfterAll
+ * void cleanUpTestUsers() {
+ *     users.close();
+ * }
+ * </pre>
+ */
+public final class UserFixturePool {
+
+    public enum Access { READ, EXCLUSIVE, ABSENT }
+
+    /**
+     * What the pool knows about the accounts of one CSV.
+     */
+    private enum State {
+        /** Nothing known (start of the run, or after an ABSENT lease): accounts may exist with CSV data. */
+        UNKNOWN,
+        /** Every account exists with exactly the CSV data. */
+        PROVISIONED,
+        /** Accounts may have been modified or deleted by an exclusive lease. */
+        DIRTY,
+        /** No account exists. */
+        ABSENT
+    }
+
+    private static final Logger LOG = LogManager.getLogger(UserFixturePool.class);
+
+    private static final ConcurrentMap<String, Pool> POOLS = new ConcurrentHashMap<>();
+
+    private UserFixturePool() {
+    }
+
+    /**
+     * Leases the accounts of <code>csvPath</code>, provisioning (or removing) them first if needed.
+     */
+    public static Lease lease(String csvPath, Access access) {
+        return POOLS.computeIfAbsent(csvPath, Pool::new).acquire(access);
+    }
+
+    /**
+     * Deletes every account the pool may have left behind. Called once, after the last test class.
+     */
+    public static void tearDown() {
+        for (Pool pool : POOLS.values()) {
+            pool.tearDown();
+        }
+        POOLS.clear();
+    }
+
+    /**
+     * A class's hold on the accounts of one CSV; release it with {@link #close()} in <code>@AfterAll</code>.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final Pool pool;
+        private final Access access;
+        private boolean released;
+
+        private Lease(Pool pool, Access access) {
+            this.pool = pool;
+            this.access = access;
+        }
+
+        /**
+         * The leased accounts, in CSV order.
+         */
+        public List<UserRecord> users() {
+            return pool.users;
+        }
+
+        @Override
+        public void close() {
+            synchronized (pool) {
+                if (!released) {
+                    released = true;
+                    pool.release(access);
+                }
+            }
+        }
+    }
+
+    private static final class Pool {
+
+        private final String csvPath;
+        private final List<UserRecord> users;
+        private State state = State.UNKNOWN;
+        private int readers;
+        private boolean exclusive;
+
+        Pool(String csvPath) {
+            this.csvPath = csvPath;
+            this.users = Datasets.users(csvPath);
+        }
+
+        synchronized Lease acquire(Access access) {
+            if (exclusive || (access != Access.READ && readers > 0)) {
+                throw new IllegalStateException("Overlapping leases on " + csvPath
+                        + ": test classes using these accounts must declare the matching @ResourceLock");
+            }
+            if (access == Access.ABSENT) {
+                remove();
+            } else {
+                provision();
+            }
+            if (access == Access.READ) {
+                readers++;
+            } else {
+                exclusive = true;
+            }
+            return new Lease(this, access);
+        }
+
+        synchronized void release(Access access) {
+            if (access == Access.READ) {
+                readers--;
+                return;
+            }
+            exclusive = false;
+            // An ABSENT holder only creates accounts from the CSV; an EXCLUSIVE one may have changed them.
+            state = access == Access.ABSENT ? State.UNKNOWN : State.DIRTY;
+        }
+
+        private void provision() {
+            if (state == State.PROVISIONED) {
+                return;
+            }
+            if (state == State.ABSENT) {
+                FixtureProvisioner.createUsers(users).assertSucceeded("User creation from " + csvPath);
+            } else {
+                FixtureProvisioner.Report report = FixtureProvisioner.ensureUsers(users);
+                LOG.info("Reconciled {} with {}", csvPath, report);
+                report.assertSucceeded("Fixture reconciliation of " + csvPath);
+            }
+            state = State.PROVISIONED;
+        }
+
+        private void remove() {
+            if (state == State.ABSENT) {
+                return;
+            }
+            delete().assertSucceeded("Fixture removal from " + csvPath);
+            state = State.ABSENT;
+        }
+
+        synchronized void tearDown() {
+            if (state == State.ABSENT) {
+                return;
+            }
+            delete().warnOnFailures("Cleanup of " + csvPath);
+            state = State.ABSENT;
+        }
+
+        // Provisioned accounts are known to exist; otherwise only the existing ones are deleted
+        private FixtureProvisioner.Report delete() {
+            if (state == State.PROVISIONED) {
+                return FixtureProvisioner.deleteUsers(users, Config.EXPECTED_ACCOUNT_DELETED_MESSAGE);
+            }
+            FixtureProvisioner.Report report = FixtureProvisioner.removeUsers(users);
+            LOG.info("Reconciled {} with {}", csvPath, report);
+            return report;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.automationexercise.api.support;
+
+import com.automationexercise.api.client.AccountForm;
+
+import java.util.Map;
+
+/**
+ * <h1>UserRecord</h1>
+ *
+ * <p>One row of a user CSV (<code>create_user_data.csv</code>, <code>update_user_data.csv</code>, ...): the 17
+ * account fields sent to <code>/api/createAccount</code> and <code>/api/updateAccount</code>. Records are
+ * immutable and shared; load them with {@link Datasets#users(String)}.</p>
+ *
+ * <p>{@link #toString()} returns the email only, so parameterized test names identify the account without
+ * printing its password.</p>
+ */
+public final class UserRecord {
+
+    private final String[] values;
+    private final Map<String, String> form;
+
+    private UserRecord(String[] values) {
+        this.values = values;
+        this.form = AccountForm.fromRow((Object[]) values);
+    }
+
+    /**
+     * A record from the 17 account values in {@link AccountForm#FIELDS} order, e.g. generated ones.
+     */
+    static UserRecord of(String... values) {
+        if (values.length != AccountForm.FIELDS.size()) {
+            throw new IllegalArgumentException("Expected " + AccountForm.FIELDS.size() + " account values but got " + values.length);
+        }
+        return new UserRecord(values.clone());
+    }
+
+    static UserRecord from(CsvTable table, int row) {
+        String[] values = new String[AccountForm.FIELDS.size()];
+        for (int column = 0; column < values.length; column++) {
+            values[column] = table.cell(row, column);
+        }
+        return new UserRecord(values);
+    }
+
+    /**
+     * The account as request form parameters, in {@link AccountForm#FIELDS} order.
+     */
+    public Map<String, String> toForm() {
+        return form;
+    }
+
+    public String name() {
+        return values[0];
+    }
+
+    public String email() {
+        return values[1];
+    }
+
+    public String password() {
+        return values[2];
+    }
+
+    public String title() {
+        return values[3];
+    }
+
+    public String birthDate() {
+        return values[4];
+    }
+
+    public String birthMonth() {
+        return values[5];
+    }
+
+    public String birthYear() {
+        return values[6];
+    }
+
+    public String firstName() {
+        return values[7];
+    }
+
+    public String lastName() {
+        return values[8];
+    }
+
+    public String company() {
+        return values[9];
+    }
+
+    public String address1() {
+        return values[10];
+    }
+
+    public String address2() {
+        return values[11];
+    }
+
+    public String country() {
+        return values[12];
+    }
+
+    public String zipcode() {
+        return values[13];
+    }
+
+    public String state() {
+        return values[14];
+    }
+
+    public String city() {
+        return values[15];
+    }
+
+    public String mobileNumber() {
+        return values[16];
+    }
+
+    @Override
+    public String toString() {
+        return email();
+    }
+}
@@ -0,0 +1,93 @@
+package com.automationexercise.api.synthetic_tests;
+
+import com.automationexercise.api.config.Config;
+import com.automationexercise.api.support.SyntheticData;
+import com.automationexercise.api.support.UserRecord;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+
+import static com.automationexercise.api.client.ApiClient.given;
+import static com.automationexercise.api.support.JsonBody.json;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * <h1>HighVolumeDataTest</h1>
+ *
+ * <p>This test class drives the account and search endpoints with generated data instead of CSV files, for
+ * volumes (hundreds of thousands of rows) that the checked-in CSVs cannot cover.</p>
+ *
+ * <p><strong>APIs Under Test:</strong></p>
+ * <ul>
+ *   <li><code>{Config.BASE_URL}{Config.CREATE_ACCOUNT_ENDPOINT}</code>, <code>{Config.LOGIN_ENDPOINT}</code> and
+ *       <code>{Config.DELETE_ACCOUNT_ENDPOINT}</code> with one generated account per invocation</li>
+ *   <li><code>{Config.BASE_URL}{Config.SEARCH_PRODUCT_ENDPOINT}</code> with one generated search term per
+ *       invocation</li>
+ * </ul>
+ *
+ * <p>The class only runs when a row count is given, e.g.
+ * <code>mvn test -Dapi.target=stub -Dapi.synthetic.rows=100000 -Dtest=HighVolumeDataTest</code>. Rows are
+ * generated lazily by {@link SyntheticData}; <code>-Dapi.synthetic.seed</code> changes the generated values.</p>
+ *
+ * <p>Every account is created, logged in with and deleted within its own invocation, so the run leaves no
+ * accounts behind and does not need the {@link com.automationexercise.api.support.UserFixturePool}.</p>
+ */
+@EnabledIfSystemProperty(named = Config.SYNTHETIC_ROWS_PROPERTY, matches = "[1-9][0-9]*")
+public class HighVolumeDataTest {
+
+    /**
+     * Creates a generated account, verifies that its credentials log in and deletes it again.
+     */
+    @ParameterizedTest(name = "{index} - Create, log in and delete account for Email: {0}")
+    @SyntheticData(SyntheticData.Kind.USERS)
+    @DisplayName("Create, log in and delete generated accounts")
+    void createLoginAndDeleteAccount(UserRecord user) {
+        Response created = given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams(user.toForm())
+                .post(Config.CREATE_ACCOUNT_ENDPOINT)
+                .then()
+                .extract().response();
+        assertThat("Expected response message 'User created!'",
+                json(created).getString("message"), equalTo("User created!"));
+
+        Response login = given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams("email", user.email(), "password", user.password())
+                .post(Config.LOGIN_ENDPOINT)
+                .then()
+                .extract().response();
+        assertThat("Expected response message: 'User exists!'",
+                json(login).getString("message"), equalTo(Config.USER_EXISTS_MESSAGE));
+
+        Response deleted = given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParams("email", user.email(), "password", user.password())
+                .delete(Config.DELETE_ACCOUNT_ENDPOINT)
+                .then()
+                .extract().response();
+        assertThat("Expected response message: 'Account deleted!'",
+                json(deleted).getString("message"), equalTo(Config.EXPECTED_ACCOUNT_DELETED_MESSAGE));
+    }
+
+    /**
+     * Searches for a generated term and validates the response code and HTTP status code.
+     */
+    @ParameterizedTest(name = "{index} - Search for product: {0}")
+    @SyntheticData(SyntheticData.Kind.SEARCH_TERMS)
+    @DisplayName("Search for generated product terms")
+    void searchProduct(String term) {
+        Response response = given()
+                .contentType("application/x-www-form-urlencoded")
+                .formParam("search_product", term)
+                .post(Config.SEARCH_PRODUCT_ENDPOINT)
+                .then()
+                .extract().response();
+        assertThat("Expected JSON response code 200!",
+                json(response).getString("responseCode"), equalTo(Config.EXPECTED_RESPONSE_CODE_200));
+        assertThat("Expected HTTP status code 200!",
+                response.getStatusCode(), equalTo(Config.EXPECTED_STATUS_CODE));
+    }
+}